@@ -0,0 +1,16 @@
+package android.content;
+
+/**
+ * JVM 上的假实现，只记录目标类名。
+ */
+public final class ComponentName {
+    private final String className;
+
+    public ComponentName(Context context, Class<?> cls) {
+        this.className = cls.getName();
+    }
+
+    public String getClassName() {
+        return className;
+    }
+}
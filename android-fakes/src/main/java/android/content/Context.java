@@ -0,0 +1,10 @@
+package android.content;
+
+/**
+ * JVM 上的假实现，只保留 xrouter 用到的方法。
+ */
+public abstract class Context {
+
+    public void startActivity(Intent intent) {
+    }
+}
@@ -0,0 +1,23 @@
+package android.content;
+
+/**
+ * JVM 上的假实现，方法调用转给被包装的 Context。
+ */
+public class ContextWrapper extends Context {
+    private final Context base;
+
+    public ContextWrapper(Context base) {
+        this.base = base;
+    }
+
+    public Context getBaseContext() {
+        return base;
+    }
+
+    @Override
+    public void startActivity(Intent intent) {
+        if (base != null) {
+            base.startActivity(intent);
+        }
+    }
+}
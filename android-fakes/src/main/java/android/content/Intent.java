@@ -0,0 +1,163 @@
+package android.content;
+
+import android.os.Bundle;
+import android.os.Parcelable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * JVM 上的假实现，extras 与系统实现一样保存在 Bundle 中，{@link #getExtras()} 返回副本。
+ */
+public class Intent {
+    public static final int FLAG_ACTIVITY_NEW_TASK = 0x10000000;
+
+    private final ComponentName component;
+    private int flags;
+    private Bundle extras;
+
+    public Intent() {
+        this.component = null;
+    }
+
+    public Intent(Context context, Class<?> component) {
+        this.component = component == null ? null : new ComponentName(context, component);
+    }
+
+    public ComponentName getComponent() {
+        return component;
+    }
+
+    public Intent addFlags(int flags) {
+        this.flags |= flags;
+        return this;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public Bundle getExtras() {
+        return extras == null ? null : new Bundle(extras);
+    }
+
+    private Intent put(String name, Object value) {
+        if (extras == null) {
+            extras = new Bundle();
+        }
+        extras.putObject(name, value);
+        return this;
+    }
+
+    public Intent putExtra(String name, boolean value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, byte value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, char value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, short value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, int value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, long value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, float value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, double value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, String value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, CharSequence value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, Parcelable value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, Parcelable[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, Serializable value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, boolean[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, byte[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, short[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, char[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, int[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, long[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, float[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, double[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, String[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, CharSequence[] value) {
+        return put(name, value);
+    }
+
+    public Intent putExtra(String name, Bundle value) {
+        return put(name, value);
+    }
+
+    public Intent putParcelableArrayListExtra(String name, ArrayList<? extends Parcelable> value) {
+        return put(name, value);
+    }
+
+    public Intent putIntegerArrayListExtra(String name, ArrayList<Integer> value) {
+        return put(name, value);
+    }
+
+    public Intent putStringArrayListExtra(String name, ArrayList<String> value) {
+        return put(name, value);
+    }
+
+    public Intent putCharSequenceArrayListExtra(String name, ArrayList<CharSequence> value) {
+        return put(name, value);
+    }
+}
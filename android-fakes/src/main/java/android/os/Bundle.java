@@ -0,0 +1,192 @@
+package android.os;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * JVM 上的假实现，用 HashMap 保存键值，取值方法与系统实现的默认值规则一致。
+ */
+public final class Bundle {
+    private final HashMap<String, Object> map;
+
+    public Bundle() {
+        map = new HashMap<>();
+    }
+
+    public Bundle(Bundle bundle) {
+        map = new HashMap<>(bundle.map);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public Set<String> keySet() {
+        return map.keySet();
+    }
+
+    public boolean containsKey(String key) {
+        return map.containsKey(key);
+    }
+
+    public Object get(String key) {
+        return map.get(key);
+    }
+
+    public void putObject(String key, Object value) {
+        map.put(key, value);
+    }
+
+    public void putString(String key, String value) {
+        map.put(key, value);
+    }
+
+    public void putInt(String key, int value) {
+        map.put(key, value);
+    }
+
+    public void putLong(String key, long value) {
+        map.put(key, value);
+    }
+
+    public void putBoolean(String key, boolean value) {
+        map.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T typed(String key, Class<T> type) {
+        Object value = map.get(key);
+        return type.isInstance(value) ? (T) value : null;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = typed(key, Boolean.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public byte getByte(String key, byte defaultValue) {
+        Byte value = typed(key, Byte.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public char getChar(String key, char defaultValue) {
+        Character value = typed(key, Character.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public short getShort(String key, short defaultValue) {
+        Short value = typed(key, Short.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = typed(key, Integer.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Long value = typed(key, Long.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public float getFloat(String key, float defaultValue) {
+        Float value = typed(key, Float.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Double value = typed(key, Double.class);
+        return value == null ? defaultValue : value;
+    }
+
+    public String getString(String key) {
+        return typed(key, String.class);
+    }
+
+    public CharSequence getCharSequence(String key) {
+        return typed(key, CharSequence.class);
+    }
+
+    public Bundle getBundle(String key) {
+        return typed(key, Bundle.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Parcelable> T getParcelable(String key) {
+        return (T) typed(key, Parcelable.class);
+    }
+
+    public Parcelable[] getParcelableArray(String key) {
+        return typed(key, Parcelable[].class);
+    }
+
+    public Serializable getSerializable(String key) {
+        return typed(key, Serializable.class);
+    }
+
+    public boolean[] getBooleanArray(String key) {
+        return typed(key, boolean[].class);
+    }
+
+    public byte[] getByteArray(String key) {
+        return typed(key, byte[].class);
+    }
+
+    public short[] getShortArray(String key) {
+        return typed(key, short[].class);
+    }
+
+    public char[] getCharArray(String key) {
+        return typed(key, char[].class);
+    }
+
+    public int[] getIntArray(String key) {
+        return typed(key, int[].class);
+    }
+
+    public long[] getLongArray(String key) {
+        return typed(key, long[].class);
+    }
+
+    public float[] getFloatArray(String key) {
+        return typed(key, float[].class);
+    }
+
+    public double[] getDoubleArray(String key) {
+        return typed(key, double[].class);
+    }
+
+    public String[] getStringArray(String key) {
+        return typed(key, String[].class);
+    }
+
+    public CharSequence[] getCharSequenceArray(String key) {
+        return typed(key, CharSequence[].class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ArrayList<Integer> getIntegerArrayList(String key) {
+        return typed(key, ArrayList.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ArrayList<String> getStringArrayList(String key) {
+        return typed(key, ArrayList.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ArrayList<CharSequence> getCharSequenceArrayList(String key) {
+        return typed(key, ArrayList.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Parcelable> ArrayList<T> getParcelableArrayList(String key) {
+        return typed(key, ArrayList.class);
+    }
+}
@@ -0,0 +1,15 @@
+package android.os;
+
+/**
+ * JVM 上没有消息循环，post 的任务直接在调用线程执行。
+ */
+public class Handler {
+
+    public Handler(Looper looper) {
+    }
+
+    public final boolean post(Runnable runnable) {
+        runnable.run();
+        return true;
+    }
+}
@@ -0,0 +1,261 @@
+package android.os;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM 上的假实现，按写入顺序保存值而不是字节。
+ * <p>
+ * 读写顺序和 Parcelable / Serializable 的处理方式与系统实现一致：Parcelable 写入类名并通过 CREATOR 还原，
+ * Serializable 经过一次 Java 序列化，数组在读取时复制。{@link #setDataPosition(int)} 的单位是值而不是字节。
+ */
+public final class Parcel {
+    private final ArrayList<Object> values = new ArrayList<>();
+    private int position;
+
+    private Parcel() {
+    }
+
+    public static Parcel obtain() {
+        return new Parcel();
+    }
+
+    public void recycle() {
+        values.clear();
+        position = 0;
+    }
+
+    public int dataPosition() {
+        return position;
+    }
+
+    public void setDataPosition(int position) {
+        this.position = position;
+    }
+
+    private void write(Object value) {
+        values.add(value);
+    }
+
+    private Object read() {
+        return values.get(position++);
+    }
+
+    public void writeInt(int value) {
+        write(value);
+    }
+
+    public void writeLong(long value) {
+        write(value);
+    }
+
+    public void writeFloat(float value) {
+        write(value);
+    }
+
+    public void writeDouble(double value) {
+        write(value);
+    }
+
+    public void writeByte(byte value) {
+        write(value);
+    }
+
+    public void writeString(String value) {
+        write(value);
+    }
+
+    public int readInt() {
+        return (Integer) read();
+    }
+
+    public long readLong() {
+        return (Long) read();
+    }
+
+    public float readFloat() {
+        return (Float) read();
+    }
+
+    public double readDouble() {
+        return (Double) read();
+    }
+
+    public byte readByte() {
+        return (Byte) read();
+    }
+
+    public String readString() {
+        return (String) read();
+    }
+
+    public void writeIntArray(int[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public void writeLongArray(long[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public void writeBooleanArray(boolean[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public void writeDoubleArray(double[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public void writeFloatArray(float[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public void writeByteArray(byte[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public void writeCharArray(char[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public void writeStringArray(String[] value) {
+        write(value == null ? null : value.clone());
+    }
+
+    public int[] createIntArray() {
+        int[] value = (int[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public long[] createLongArray() {
+        long[] value = (long[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public boolean[] createBooleanArray() {
+        boolean[] value = (boolean[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public double[] createDoubleArray() {
+        double[] value = (double[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public float[] createFloatArray() {
+        float[] value = (float[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public byte[] createByteArray() {
+        byte[] value = (byte[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public char[] createCharArray() {
+        char[] value = (char[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public String[] createStringArray() {
+        String[] value = (String[]) read();
+        return value == null ? null : value.clone();
+    }
+
+    public void writeBundle(Bundle value) {
+        write(value == null ? null : new Bundle(value));
+    }
+
+    public Bundle readBundle(ClassLoader loader) {
+        Bundle value = (Bundle) read();
+        return value == null ? null : new Bundle(value);
+    }
+
+    public void writeParcelable(Parcelable value, int flags) {
+        if (value == null) {
+            writeString(null);
+            return;
+        }
+        writeString(value.getClass().getName());
+        value.writeToParcel(this, flags);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Parcelable> T readParcelable(ClassLoader loader) {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            Field field = Class.forName(name, true, loader).getField("CREATOR");
+            return ((Parcelable.Creator<T>) field.get(null)).createFromParcel(this);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to unmarshal Parcelable " + name, e);
+        }
+    }
+
+    public <T extends Parcelable> void writeParcelableArray(T[] value, int flags) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(value.length);
+        for (T item : value) {
+            writeParcelable(item, flags);
+        }
+    }
+
+    public Parcelable[] readParcelableArray(ClassLoader loader) {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        Parcelable[] array = new Parcelable[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = readParcelable(loader);
+        }
+        return array;
+    }
+
+    public void writeSerializable(Serializable value) {
+        if (value == null) {
+            write(null);
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to marshal Serializable " + value.getClass().getName(), e);
+        }
+        write(bytes.toByteArray());
+    }
+
+    public Serializable readSerializable() {
+        byte[] bytes = (byte[]) read();
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Serializable) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to unmarshal Serializable", e);
+        }
+    }
+
+    public void writeList(List<?> value) {
+        write(value == null ? null : new ArrayList<>(value));
+    }
+
+    @SuppressWarnings("rawtypes")
+    public ArrayList readArrayList(ClassLoader loader) {
+        ArrayList<?> value = (ArrayList<?>) read();
+        return value == null ? null : new ArrayList<>(value);
+    }
+}
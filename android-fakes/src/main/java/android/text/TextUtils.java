@@ -0,0 +1,32 @@
+package android.text;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+public final class TextUtils {
+    /**
+     * 只保留文本，不保留样式。
+     */
+    public static final Parcelable.Creator<CharSequence> CHAR_SEQUENCE_CREATOR = new Parcelable.Creator<CharSequence>() {
+        @Override
+        public CharSequence createFromParcel(Parcel source) {
+            return source.readString();
+        }
+
+        @Override
+        public CharSequence[] newArray(int size) {
+            return new CharSequence[size];
+        }
+    };
+
+    private TextUtils() {
+    }
+
+    public static boolean isEmpty(CharSequence text) {
+        return text == null || text.length() == 0;
+    }
+
+    public static void writeToParcel(CharSequence text, Parcel dest, int flags) {
+        dest.writeString(text == null ? null : text.toString());
+    }
+}
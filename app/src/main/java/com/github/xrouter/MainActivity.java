@@ -12,9 +12,11 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.github.core.RouterService;
 import com.github.core.annotation.Route;
+import com.github.xrouter.generated.AppServices;
+import com.github.xrouter.generated.OrderServices;
+import com.github.xrouter.generated.UserServices;
 import com.github.provider.OrderService;
 import com.github.provider.UserService;
-import com.github.xrouter.interceptor.RouteInterceptor;
 
 import javax.annotation.Nullable;
 
@@ -42,36 +44,24 @@ public class MainActivity extends AppCompatActivity {
 
     private boolean isResult() {
         // 创建路由请求
-        RouteRequest request = new RouteRequest("/app/main", "Main");
-        request.putParam("key", "value");
+        RouteRequest request = RouteRequest.obtain("/app/main", "Main")
+                .withString("key", "value");
 
-        Router router = new Router(this);
+        Router router = Router.getInstance();
 
-        IMainService mainService =
-                router.getService("/app/main", null, null);
+        // 生成的访问器在编译期检查路径和类型，按路径获取的 router.getService("/user/user") 仍然可用
+        IMainService mainService = AppServices.mainService();
         Log.e("TAG", "mainService: " + mainService);
 
-        UserService userService =
-                router.getService("/user/user", null, null);
+        UserService userService = UserServices.userService();
         Log.e("TAG", "userService: " + userService);
 
-        OrderService orderService =
-                router.getService("/order/order", null, null);
+        OrderService orderService = OrderServices.orderService();
         Log.e("TAG", "orderService: " + orderService);
 
-        // 添加拦截器
-        router.addInterceptor(new RouteInterceptor() {
-            @Override
-            public boolean intercept(RouteRequest request) {
-                // 这里可以进行权限验证等操作
-                Log.e("TAG", "intercept: 这里可以进行权限验证等操作");
-                return false;
-            }
-        });
-
-
         // 进行路由跳转
-        boolean result = router.navigate(request);
+        boolean result = router.navigate(this, request);
+        request.recycle();
         return result;
     }
 
@@ -0,0 +1,28 @@
+package com.github.xrouter;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.github.xrouter.interceptor.RouteInterceptor;
+
+public class XRouterApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        Router router = Router.init(this);
+
+        // 拦截器只需要添加一次，所有跳转共用
+        router.addInterceptor(new RouteInterceptor() {
+            @Override
+            public boolean intercept(RouteRequest request) {
+                // 这里可以进行权限验证等操作
+                Log.e("TAG", "intercept: 这里可以进行权限验证等操作");
+                return false;
+            }
+        });
+
+        // 后台加载路由表和单例服务，首次跳转直接命中
+        router.warmUp();
+    }
+}
@@ -0,0 +1,5 @@
+package com.github.xrouter;
+
+public interface BenchService {
+    int id();
+}
@@ -0,0 +1,59 @@
+package com.github.xrouter;
+
+import android.content.Intent;
+
+import com.github.core.annotation.Autowired;
+import com.github.xrouter.utils.ParameterInjector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * APT 生成的注入类，每次注入包含一次 Intent#getExtras 的复制。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InjectionBenchmark {
+
+    public static class DetailActivity extends SyntheticRoutes.TargetActivity {
+        @Autowired
+        String name;
+        @Autowired
+        int age;
+        @Autowired(name = "user_id")
+        long userId;
+        @Autowired
+        boolean vip;
+        @Autowired
+        String[] tags;
+    }
+
+    private DetailActivity target;
+    private Intent intent;
+
+    @Setup
+    public void setUp() {
+        target = new DetailActivity();
+        intent = new Intent(new SyntheticRoutes.CountingContext(), DetailActivity.class)
+                .putExtra("name", "bench")
+                .putExtra("age", 18)
+                .putExtra("user_id", 42L)
+                .putExtra("vip", true)
+                .putExtra("tags", new String[]{"a", "b"});
+        ParameterInjector.inject(target, intent);
+    }
+
+    @Benchmark
+    public DetailActivity inject() {
+        ParameterInjector.inject(target, intent);
+        return target;
+    }
+}
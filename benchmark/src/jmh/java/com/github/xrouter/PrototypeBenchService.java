@@ -0,0 +1,21 @@
+package com.github.xrouter;
+
+import com.github.core.annotation.Service;
+
+@Service(path = "/bench/prototype")
+public class PrototypeBenchService implements BenchService {
+    private final String name;
+
+    public PrototypeBenchService() {
+        this("default");
+    }
+
+    public PrototypeBenchService(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public int id() {
+        return name.length();
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.xrouter;
+
+import android.os.Parcel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RouteRequest 写入 Parcel 再读出。假 Parcel 按值保存，分配量与设备上的字节缓冲不同，只用于比较同一实现的前后变化。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RouteRequestParcelBenchmark {
+    private RouteRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new RouteRequest("/bench/section1/page1", "bench10")
+                .withString("name", "bench")
+                .withInt("age", 18)
+                .withLong("user_id", 42L)
+                .withBoolean("vip", true)
+                .withDouble("score", 9.5)
+                .withObject("tags", new String[]{"a", "b"});
+    }
+
+    @Benchmark
+    public RouteRequest roundTrip() {
+        Parcel parcel = Parcel.obtain();
+        try {
+            request.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            return RouteRequest.CREATOR.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.xrouter;
+
+import com.github.core.RouteMeta;
+import com.github.core.RouteTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已加载分组内的路由解析。请求在最多 1024 个不同路径间轮换，路由数超过路由缓存容量时包含缓存未命中。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RouteResolutionBenchmark {
+    private static final int MAX_DISTINCT_PATHS = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    int routes;
+
+    private Router router;
+    private Router measuredRouter;
+    private RouteTable table;
+    private RouteRequest[] requests;
+    private String[] paths;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String group = SyntheticRoutes.group(routes);
+        router = new Router(new SyntheticRoutes.CountingContext());
+        measuredRouter = new Router(new SyntheticRoutes.CountingContext());
+        measuredRouter.setNavigationListener(new NavigationMetrics());
+        table = RouteRegistry.getRouteTable(group);
+        int count = Math.min(routes, MAX_DISTINCT_PATHS);
+        requests = new RouteRequest[count];
+        paths = new String[count];
+        for (int i = 0; i < count; i++) {
+            // 均匀取样，覆盖前缀树的各个分支
+            paths[i] = SyntheticRoutes.path((int) ((long) i * routes / count));
+            requests[i] = new RouteRequest(paths[i], group).withString("name", "bench").withInt("id", i);
+        }
+        // 分组和目标类提前加载，这里只测量解析
+        for (RouteRequest request : requests) {
+            router.navigate(request);
+            measuredRouter.navigate(request);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == paths.length ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public boolean navigate() {
+        return router.navigate(requests[nextIndex()]);
+    }
+
+    /**
+     * 与 navigate 对比得到 NavigationMetrics 的开销。
+     */
+    @Benchmark
+    public boolean navigateWithMetrics() {
+        return measuredRouter.navigate(requests[nextIndex()]);
+    }
+
+    @Benchmark
+    public Class<?> matchIndex() {
+        RouteMeta route = table.getRouteIndex().match(paths[nextIndex()]);
+        return route.getTarget();
+    }
+}
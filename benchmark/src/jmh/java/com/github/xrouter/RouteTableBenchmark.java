@@ -0,0 +1,47 @@
+package com.github.xrouter;
+
+import com.github.core.RouteRoot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按分组获取路由表并解析一次。cold 每次重新创建路由表，对应分组第一次被使用；warm 命中已缓存的路由表。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RouteTableBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int routes;
+
+    private final RouteRoot root = new SyntheticRoutes.Root();
+    private String group;
+    private String path;
+
+    @Setup
+    public void setUp() {
+        group = SyntheticRoutes.group(routes);
+        path = SyntheticRoutes.path(routes / 2);
+        RouteRegistry.getRouteTable(group);
+    }
+
+    @Benchmark
+    public Class<?> cold() {
+        return root.createRouteTable(group).getRouteIndex().match(path).getTarget();
+    }
+
+    @Benchmark
+    public Class<?> warm() {
+        return RouteRegistry.getRouteTable(group).getRouteIndex().match(path).getTarget();
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.xrouter;
+
+import com.github.xrouter.generated.BenchmarkServices;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ServiceBenchmark {
+    private static final Class<?>[] NAME_TYPES = {String.class};
+
+    private Router router;
+
+    @Setup
+    public void setUp() {
+        router = new Router(new SyntheticRoutes.CountingContext());
+        router.getService("/bench/singleton");
+    }
+
+    @Benchmark
+    public BenchService singleton() {
+        return router.getService("/bench/singleton");
+    }
+
+    @Benchmark
+    public BenchService prototype() {
+        return router.getService("/bench/prototype");
+    }
+
+    @Benchmark
+    public BenchService prototypeWithArgs() {
+        return router.getService("/bench/prototype", NAME_TYPES, new Object[]{"bench"});
+    }
+
+    @Benchmark
+    public BenchService singletonTyped() {
+        return BenchmarkServices.singletonBenchService();
+    }
+
+    @Benchmark
+    public BenchService prototypeTyped() {
+        return BenchmarkServices.prototypeBenchService();
+    }
+
+    @Benchmark
+    public Object missing() {
+        return router.getService("/bench/missing");
+    }
+}
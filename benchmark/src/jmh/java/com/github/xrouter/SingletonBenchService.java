@@ -0,0 +1,11 @@
+package com.github.xrouter;
+
+import com.github.core.annotation.Service;
+
+@Service(path = "/bench/singleton", scope = Service.Scope.SINGLETON)
+public class SingletonBenchService implements BenchService {
+    @Override
+    public int id() {
+        return 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.xrouter;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+
+import com.github.core.AbstractRouteTable;
+import com.github.core.RouteRoot;
+import com.github.core.RouteTable;
+
+/**
+ * 基准测试使用的合成路由：分组 "bench" + 路由数，例如 bench1000 含 1000 个路由。
+ * 路径形如 /bench/section3/page19，前缀分散在 16 个二级目录下。
+ */
+final class SyntheticRoutes {
+    static final String GROUP_PREFIX = "bench";
+    static final int[] SIZES = {10, 100, 1000, 10000};
+
+    private SyntheticRoutes() {
+    }
+
+    static String group(int size) {
+        return GROUP_PREFIX + size;
+    }
+
+    static String path(int index) {
+        return "/bench/section" + (index % 16) + "/page" + index;
+    }
+
+    static String[] paths(int size) {
+        String[] paths = new String[size];
+        for (int i = 0; i < size; i++) {
+            paths[i] = path(i);
+        }
+        return paths;
+    }
+
+    /**
+     * 通过 META-INF/services 注册，和 APT 生成的 RouteRoot 走同一条加载路径。
+     */
+    public static final class Root implements RouteRoot {
+
+        @Override
+        public String[] getGroups() {
+            String[] groups = new String[SIZES.length];
+            for (int i = 0; i < SIZES.length; i++) {
+                groups[i] = group(SIZES[i]);
+            }
+            return groups;
+        }
+
+        @Override
+        public RouteTable createRouteTable(String group) {
+            return new Table(Integer.parseInt(group.substring(GROUP_PREFIX.length())));
+        }
+    }
+
+    static final class Table extends AbstractRouteTable {
+
+        Table(int size) {
+            super(paths(size));
+        }
+
+        @Override
+        protected Class<?> loadTarget(int index) {
+            return TargetActivity.class;
+        }
+    }
+
+    public static class TargetActivity extends Activity {
+    }
+
+    /**
+     * 不真正启动页面，只统计调用次数。
+     */
+    static final class CountingContext extends Context {
+        int started;
+
+        @Override
+        public void startActivity(Intent intent) {
+            started++;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.github.xrouter.apt;
+
+import com.github.core.annotation.Autowired;
+import com.google.auto.service.AutoService;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * 为声明了 {@link Autowired} 字段的类生成 {@code <Target>$$Injector}，直接调用 Bundle 的类型化 getter 赋值。
+ */
+@AutoService(Processor.class)
+public class AutowiredProcessor extends AbstractProcessor {
+    private static final String INJECTOR_SUFFIX = "$$Injector";
+    private static final ClassName INJECTOR = ClassName.get("com.github.xrouter.utils", "Injector");
+    private static final ClassName INTENT = ClassName.get("android.content", "Intent");
+    private static final ClassName BUNDLE = ClassName.get("android.os", "Bundle");
+    private static final ClassName PARCELABLE = ClassName.get("android.os", "Parcelable");
+    private static final ClassName PARAMETER_INJECTOR = ClassName.get("com.github.xrouter.utils", "ParameterInjector");
+
+    private Elements elementUtils;
+    private Types typeUtils;
+    private Filer filer;
+    private Messager messager;
+
+    private final Map<TypeKind, String> primitiveGetters = new HashMap<>();
+    private final Map<TypeKind, String> primitiveArrayGetters = new HashMap<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        filer = processingEnv.getFiler();
+        elementUtils = processingEnv.getElementUtils();
+        typeUtils = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+
+        primitiveGetters.put(TypeKind.BOOLEAN, "getBoolean");
+        primitiveGetters.put(TypeKind.BYTE, "getByte");
+        primitiveGetters.put(TypeKind.SHORT, "getShort");
+        primitiveGetters.put(TypeKind.CHAR, "getChar");
+        primitiveGetters.put(TypeKind.INT, "getInt");
+        primitiveGetters.put(TypeKind.LONG, "getLong");
+        primitiveGetters.put(TypeKind.FLOAT, "getFloat");
+        primitiveGetters.put(TypeKind.DOUBLE, "getDouble");
+
+        primitiveArrayGetters.put(TypeKind.BOOLEAN, "getBooleanArray");
+        primitiveArrayGetters.put(TypeKind.BYTE, "getByteArray");
+        primitiveArrayGetters.put(TypeKind.SHORT, "getShortArray");
+        primitiveArrayGetters.put(TypeKind.CHAR, "getCharArray");
+        primitiveArrayGetters.put(TypeKind.INT, "getIntArray");
+        primitiveArrayGetters.put(TypeKind.LONG, "getLongArray");
+        primitiveArrayGetters.put(TypeKind.FLOAT, "getFloatArray");
+        primitiveArrayGetters.put(TypeKind.DOUBLE, "getDoubleArray");
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new HashSet<>();
+        types.add(Autowired.class.getCanonicalName());
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> targetFields = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(Autowired.class)) {
+            if (element.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            TypeElement enclosing = (TypeElement) element.getEnclosingElement();
+            targetFields.computeIfAbsent(enclosing, key -> new ArrayList<>()).add((VariableElement) element);
+        }
+
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : targetFields.entrySet()) {
+            if (canGenerate(entry.getKey(), entry.getValue())) {
+                generateInjector(entry.getKey(), entry.getValue());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 生成的注入类直接访问字段，private / final / static 字段无法处理，这类目标继续走运行时反射。
+     */
+    private boolean canGenerate(TypeElement target, List<VariableElement> fields) {
+        if (target.getModifiers().contains(Modifier.PRIVATE)) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                    "@Autowired target is private, falling back to reflection.", target);
+            return false;
+        }
+        for (VariableElement field : fields) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || modifiers.contains(Modifier.FINAL)
+                    || modifiers.contains(Modifier.STATIC)) {
+                messager.printMessage(Diagnostic.Kind.WARNING,
+                        "@Autowired field is private, final or static, " + target.getSimpleName()
+                                + " falls back to reflection.", field);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generateInjector(TypeElement target, List<VariableElement> fields) {
+        ClassName targetClass = ClassName.get(target);
+        String packageName = elementUtils.getPackageOf(target).getQualifiedName().toString();
+        // 与 Class#getName 保持一致，运行时按 target.getClass().getName() + "$$Injector" 查找
+        String binaryName = elementUtils.getBinaryName(target).toString();
+        String injectorName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + INJECTOR_SUFFIX;
+
+        boolean rawTypes = false;
+        CodeBlock.Builder body = CodeBlock.builder()
+                .addStatement("$T extras = intent.getExtras()", BUNDLE)
+                .beginControlFlow("if (extras == null)")
+                .addStatement("return")
+                .endControlFlow();
+        for (VariableElement field : fields) {
+            String fieldName = field.getSimpleName().toString();
+            String key = field.getAnnotation(Autowired.class).name();
+            if (key.isEmpty()) {
+                key = fieldName;
+            }
+            TypeMirror type = field.asType();
+            if (type.getKind().isPrimitive()) {
+                // 基本类型以字段当前值作为默认值
+                body.addStatement("target.$N = extras.$N($S, target.$N)",
+                        fieldName, primitiveGetters.get(type.getKind()), key, fieldName);
+                continue;
+            }
+            String value = fieldName + "Value";
+            // 注入类中无法引用目标类的类型变量，这种字段只能按擦除后的类型声明
+            boolean erased = containsTypeVariable(type);
+            rawTypes |= erased;
+            TypeName fieldType = TypeName.get(erased ? typeUtils.erasure(type) : type);
+            String getter = referenceGetter(type);
+            if (getter == null) {
+                getter = "get";
+            }
+            TypeName returnType = uncheckedReturnType(getter, type);
+            if (returnType != null) {
+                // 取出的值先检查类型，不一致时跳过并记录，不在 onCreate 中抛出 ClassCastException
+                body.addStatement("$T $N = extras.$N($S)", returnType, value, getter, key)
+                        .beginControlFlow("if ($N instanceof $T)", value, TypeName.get(typeUtils.erasure(type)))
+                        .addStatement("target.$N = ($T) $N", fieldName, fieldType, value)
+                        .nextControlFlow("else if ($N != null)", value)
+                        .addStatement("$T.reportTypeMismatch(target, $S, $N)", PARAMETER_INJECTOR, key, value)
+                        .endControlFlow();
+                continue;
+            }
+            body.addStatement("$T $N = extras.$N($S)", fieldType, value, getter, key);
+            body.beginControlFlow("if ($N != null)", value)
+                    .addStatement("target.$N = $N", fieldName, value)
+                    .endControlFlow();
+        }
+
+        AnnotationSpec.Builder suppressWarnings = AnnotationSpec.builder(SuppressWarnings.class)
+                .addMember("value", "$S", "unchecked");
+        // 泛型目标类在注入类中只能使用原始类型，整个类都需要忽略 rawtypes
+        boolean genericTarget = !target.getTypeParameters().isEmpty();
+        if (rawTypes && !genericTarget) {
+            suppressWarnings.addMember("value", "$S", "rawtypes");
+        }
+        MethodSpec inject =
+                MethodSpec.methodBuilder("inject")
+                        .addAnnotation(Override.class)
+                        .addAnnotation(suppressWarnings.build())
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(targetClass, "target")
+                        .addParameter(INTENT, "intent")
+                        .addCode(body.build())
+                        .build();
+
+        TypeSpec.Builder injector =
+                TypeSpec.classBuilder(injectorName)
+                        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                        .addSuperinterface(ParameterizedTypeName.get(INJECTOR, targetClass))
+                        .addMethod(inject)
+                        // 每个注入类只依赖自己的目标类，可以按 isolating 方式增量处理
+                        .addOriginatingElement(target);
+        if (genericTarget) {
+            injector.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "rawtypes")
+                    .build());
+        }
+
+        try {
+            JavaFile.builder(packageName, injector.build())
+                    .build()
+                    .writeTo(filer);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + injectorName + ".java: " + e.getMessage(), target);
+        }
+    }
+
+    /**
+     * @return 与字段类型对应的 Bundle getter，返回 null 时使用 {@code Bundle#get} 并强转
+     */
+    private String referenceGetter(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) type).getComponentType();
+            if (component.getKind().isPrimitive()) {
+                return primitiveArrayGetters.get(component.getKind());
+            }
+            if (isSameType(component, "java.lang.String")) {
+                return "getStringArray";
+            }
+            if (isSameType(component, "java.lang.CharSequence")) {
+                return "getCharSequenceArray";
+            }
+            if (isSameType(component, "android.os.Parcelable")) {
+                return "getParcelableArray";
+            }
+            return isSubtype(type, "java.io.Serializable") ? "getSerializable" : null;
+        }
+        if (isSameType(type, "java.lang.String")) {
+            return "getString";
+        }
+        if (isSameType(type, "java.lang.CharSequence")) {
+            return "getCharSequence";
+        }
+        if (isSameType(type, "android.os.Bundle")) {
+            return "getBundle";
+        }
+        if (isArrayList(type)) {
+            TypeMirror element = ((DeclaredType) type).getTypeArguments().get(0);
+            if (element.getKind() == TypeKind.WILDCARD && ((WildcardType) element).getExtendsBound() != null) {
+                element = ((WildcardType) element).getExtendsBound();
+            }
+            if (isSameType(element, "java.lang.Integer")) {
+                return "getIntegerArrayList";
+            }
+            if (isSameType(element, "java.lang.String")) {
+                return "getStringArrayList";
+            }
+            if (isSameType(element, "java.lang.CharSequence")) {
+                return "getCharSequenceArrayList";
+            }
+            if (isSubtype(element, "android.os.Parcelable")) {
+                return "getParcelableArrayList";
+            }
+        }
+        if (isSubtype(type, "android.os.Parcelable")) {
+            return "getParcelable";
+        }
+        if (isSubtype(type, "java.io.Serializable")) {
+            return "getSerializable";
+        }
+        return null;
+    }
+
+    /**
+     * Bundle 的类型化 getter 遇到类型不一致的值时返回 null，不会抛出异常；get、getSerializable 和 getParcelable
+     * 只能按声明的返回类型取出，赋给更具体的字段类型需要强转。
+     *
+     * @return 需要在赋值前检查类型时返回 getter 的返回类型，否则返回 null
+     */
+    private TypeName uncheckedReturnType(String getter, TypeMirror type) {
+        switch (getter) {
+            case "get":
+                return isSameType(type, "java.lang.Object") ? null : TypeName.OBJECT;
+            case "getSerializable":
+                return isSameType(type, "java.io.Serializable") ? null : ClassName.get(Serializable.class);
+            case "getParcelable":
+                return isSameType(type, "android.os.Parcelable") ? null : PARCELABLE;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean containsTypeVariable(TypeMirror type) {
+        switch (type.getKind()) {
+            case TYPEVAR:
+                return true;
+            case ARRAY:
+                return containsTypeVariable(((ArrayType) type).getComponentType());
+            case WILDCARD: {
+                WildcardType wildcard = (WildcardType) type;
+                return (wildcard.getExtendsBound() != null && containsTypeVariable(wildcard.getExtendsBound()))
+                        || (wildcard.getSuperBound() != null && containsTypeVariable(wildcard.getSuperBound()));
+            }
+            case DECLARED:
+                for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                    if (containsTypeVariable(argument)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isArrayList(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED || ((DeclaredType) type).getTypeArguments().size() != 1) {
+            return false;
+        }
+        return isSameType(typeUtils.erasure(type), "java.util.ArrayList");
+    }
+
+    private boolean isSameType(TypeMirror type, String className) {
+        TypeElement element = elementUtils.getTypeElement(className);
+        return element != null && typeUtils.isSameType(type, typeUtils.erasure(element.asType()));
+    }
+
+    private boolean isSubtype(TypeMirror type, String className) {
+        if (type.getKind() == TypeKind.WILDCARD || type.getKind() == TypeKind.TYPEVAR) {
+            return false;
+        }
+        TypeElement element = elementUtils.getTypeElement(className);
+        return element != null && typeUtils.isAssignable(typeUtils.erasure(type), typeUtils.erasure(element.asType()));
+    }
+}
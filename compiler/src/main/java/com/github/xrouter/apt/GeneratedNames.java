@@ -0,0 +1,48 @@
+package com.github.xrouter.apt;
+
+import java.util.Set;
+
+/**
+ * 生成类的包名和类名规则。
+ * <p>
+ * 路由表和服务统一生成到固定的包下，输出不再依赖注解类的处理顺序，增量编译时同一模块总是得到相同的类名。
+ */
+final class GeneratedNames {
+    static final String PACKAGE = "com.github.xrouter.generated";
+
+    private GeneratedNames() {
+    }
+
+    /**
+     * 把模块名、分组名中不能出现在类名里的字符替换为 '_'。
+     */
+    static String identifier(String name) {
+        if (name == null || name.isEmpty()) {
+            return "_";
+        }
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            builder.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        if (!Character.isJavaIdentifierStart(builder.charAt(0))) {
+            builder.insert(0, '_');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 同一次编译中类名只能生成一次，后续轮次或替换字符后重名的类依次加上 _2、_3 后缀。
+     */
+    static String unique(Set<String> usedNames, String name) {
+        if (usedNames.add(name)) {
+            return name;
+        }
+        for (int i = 2; ; i++) {
+            String candidate = name + "_" + i;
+            if (usedNames.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.github.xrouter.apt;
 
+import com.github.core.AbstractRouteTable;
+import com.github.core.RouteKey;
+import com.github.core.RouteRoot;
 import com.github.core.RouteTable;
+import com.github.core.RouteTrie;
+import com.github.core.UriMatcher;
+import com.github.core.UriTable;
 import com.github.core.annotation.Route;
 import com.github.core.annotation.RouterUri;
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -25,20 +33,38 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 public class RouteProcessor extends AbstractProcessor {
+    static final String OPTION_MODULE_NAME = "moduleName";
+    // 为 true 时前缀重叠的路由只给出警告
+    static final String OPTION_ALLOW_ROUTE_OVERLAP = "allowRouteOverlap";
 
     private Filer filer;
     private Elements elementUtils;
     private String moduleName;
+    private boolean allowRouteOverlap;
+    // 已生成的类名，后续轮次再出现路由时生成新的类，运行时按分组合并
+    private final Set<String> generatedNames = new HashSet<>();
+    // 分组 -> 规范化路径 -> 声明的类，跨轮次检查重复和前缀重叠
+    private final Map<String, TreeMap<String, TypeElement>> declaredRoutes = new HashMap<>();
+    // 去掉参数名后的 URI 模板 -> 声明的类
+    private final Map<String, TypeElement> declaredUris = new HashMap<>();
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -46,12 +72,21 @@ public class RouteProcessor extends AbstractProcessor {
         filer = processingEnv.getFiler();
         elementUtils = processingEnv.getElementUtils();
         Map<String, String> options = processingEnv.getOptions();
-        moduleName = options.get("moduleName");
+        moduleName = options.get(OPTION_MODULE_NAME);
+        allowRouteOverlap = Boolean.parseBoolean(options.get(OPTION_ALLOW_ROUTE_OVERLAP));
         if (moduleName == null) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Module name not provided in options.");
         }
     }
 
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new HashSet<>();
+        options.add(OPTION_MODULE_NAME);
+        options.add(OPTION_ALLOW_ROUTE_OVERLAP);
+        return options;
+    }
+
     @Override
     public Set<String> getSupportedAnnotationTypes() {
         Set<String> annotations = new HashSet<>();
@@ -68,89 +103,188 @@ public class RouteProcessor extends AbstractProcessor {
         Set<? extends Element> routeElements = roundEnv.getElementsAnnotatedWith(Route.class);
         Set<? extends Element> uriElements = roundEnv.getElementsAnnotatedWith(RouterUri.class);
 
-        Map<String, Map<String, ClassName>> groupRouteMap = new HashMap<>();
-        String packageName = null;
+        Map<String, Map<String, TypeElement>> groupRouteMap = new TreeMap<>();
 
         // 处理 @Route 注解
         for (Element element : routeElements) {
             TypeElement typeElement = (TypeElement) element;
-            if (packageName == null) {
-                packageName = elementUtils.getPackageOf(typeElement).getQualifiedName().toString();
-            }
             Route route = typeElement.getAnnotation(Route.class);
-            String path = route.path();
-            String group = route.group();
-            ClassName className = ClassName.get(typeElement);
-
-            if (!groupRouteMap.containsKey(group)) {
-                groupRouteMap.put(group, new HashMap<>());
-            }
-            groupRouteMap.get(group).put(path, className);
+            addRoute(groupRouteMap, route.group(), route.path(), typeElement);
         }
 
-        // 处理 @RouterUri 注解
+        reportOverlaps(groupRouteMap);
+
+        // 处理 @RouterUri 注解，模板在编译期校验，运行时由 UriMatcher 按 scheme -> host -> 路径段匹配
+        Map<String, TypeElement> uriMap = new TreeMap<>();
         for (Element element : uriElements) {
             TypeElement typeElement = (TypeElement) element;
-            RouterUri uri = typeElement.getAnnotation(RouterUri.class);
-            String uriValue = uri.uri();
-            String group = "uri_group"; // 可以根据需要修改分组逻辑
-            ClassName className = ClassName.get(typeElement);
-
-            if (!groupRouteMap.containsKey(group)) {
-                groupRouteMap.put(group, new HashMap<>());
+            String template = typeElement.getAnnotation(RouterUri.class).uri();
+            String pattern;
+            try {
+                pattern = UriMatcher.parse(template).pattern();
+            } catch (IllegalArgumentException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), typeElement);
+                continue;
             }
-            groupRouteMap.get(group).put(uriValue, className);
+            TypeElement previous = declaredUris.putIfAbsent(pattern, typeElement);
+            if (previous != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "URI template '" + template + "' matches the same URIs as the one declared by "
+                                + previous.getQualifiedName(), typeElement);
+                continue;
+            }
+            uriMap.put(template, typeElement);
+        }
+        if (!uriMap.isEmpty() && moduleName != null) {
+            generateUriTable(uriMap);
         }
 
-        if (packageName != null && moduleName != null) {
-            for (Map.Entry<String, Map<String, ClassName>> groupEntry : groupRouteMap.entrySet()) {
+        if (!groupRouteMap.isEmpty() && moduleName != null) {
+            Map<String, ClassName> groupTableMap = new TreeMap<>();
+            List<TypeElement> originatingElements = new ArrayList<>();
+            for (Map.Entry<String, Map<String, TypeElement>> groupEntry : groupRouteMap.entrySet()) {
                 String group = groupEntry.getKey();
-                Map<String, ClassName> groupRoutes = groupEntry.getValue();
-                generateRouteClass(groupRoutes, packageName, moduleName, group);
+                Map<String, TypeElement> groupRoutes = groupEntry.getValue();
+                groupTableMap.put(group, generateRouteClass(groupRoutes, group));
+                originatingElements.addAll(groupRoutes.values());
             }
+            String rootName = generateRouteRoot(groupTableMap, originatingElements);
+            writeRouteManifest(rootName, groupRouteMap, originatingElements);
         }
         return true;
     }
 
-    private void generateRouteClass(Map<String, ClassName> routeMap, String packageName, String moduleName, String group) {
-        ClassName mapClass = ClassName.get("java.util", "Map");
-        ClassName stringClass = ClassName.get("java.lang", "String");
-        ClassName hashMapClass = ClassName.get("java.util", "HashMap");
-        ClassName classClass = ClassName.get(Class.class);
-        ClassName overrideClassAnnotation = ClassName.get(Override.class);
-        ClassName routeTableClass = ClassName.get(RouteTable.class);
+    /**
+     * 同一分组内规范化后相同的路径视为重复，报编译错误，只保留先声明的路由。
+     */
+    private void addRoute(Map<String, Map<String, TypeElement>> groupRouteMap, String group, String path,
+                          TypeElement typeElement) {
+        String normalized = RouteTrie.normalize(path);
+        TreeMap<String, TypeElement> declared = declaredRoutes.computeIfAbsent(group, key -> new TreeMap<>());
+        TypeElement previous = declared.get(normalized);
+        if (previous != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Duplicate route path '" + path + "' in group '" + group + "', already declared by "
+                            + previous.getQualifiedName(), typeElement);
+            return;
+        }
+        declared.put(normalized, typeElement);
+        groupRouteMap.computeIfAbsent(group, key -> new TreeMap<>()).put(normalized, typeElement);
+    }
 
-        WildcardTypeName wildcard = WildcardTypeName.subtypeOf(Object.class);
-        TypeName classWildcardType = ParameterizedTypeName.get(classClass, wildcard);
-        TypeName mapType = ParameterizedTypeName.get(mapClass, stringClass, classWildcardType);
+    /**
+     * 一个路由是另一个路由的路径段前缀时报编译错误：更深的路径会按最长前缀命中，可能不是期望的页面。
+     * 传入 -AallowRouteOverlap=true 时只给出警告。
+     */
+    private void reportOverlaps(Map<String, Map<String, TypeElement>> groupRouteMap) {
+        for (Map.Entry<String, Map<String, TypeElement>> groupEntry : groupRouteMap.entrySet()) {
+            TreeMap<String, TypeElement> declared = declaredRoutes.get(groupEntry.getKey());
+            for (Map.Entry<String, TypeElement> route : groupEntry.getValue().entrySet()) {
+                String path = route.getKey();
+                // 只向上查找前缀，每一对重叠只报告一次；根路径 "/" 是所有路由的前缀，不报告
+                for (int slash = path.lastIndexOf('/'); slash > 0; slash = path.lastIndexOf('/', slash - 1)) {
+                    String prefix = path.substring(0, slash);
+                    TypeElement prefixElement = declared.get(prefix);
+                    if (prefixElement != null) {
+                        reportOverlap("Route '" + prefix + "' (" + prefixElement.getQualifiedName()
+                                + ") is a prefix of '" + path + "' in group '" + groupEntry.getKey() + "'",
+                                route.getValue());
+                    }
+                }
+                // 之前轮次声明的更深路由
+                String childPrefix = path + "/";
+                for (Map.Entry<String, TypeElement> child : declared.tailMap(childPrefix, true).entrySet()) {
+                    if (!child.getKey().startsWith(childPrefix)) {
+                        break;
+                    }
+                    if (!groupEntry.getValue().containsKey(child.getKey())) {
+                        reportOverlap("Route '" + path + "' is a prefix of '" + child.getKey() + "' ("
+                                + child.getValue().getQualifiedName() + ") in group '" + groupEntry.getKey() + "'",
+                                route.getValue());
+                    }
+                }
+            }
+        }
+    }
 
-        MethodSpec.Builder getRouteMapMethod =
-                MethodSpec.methodBuilder("getRouteMap")
-                        .addModifiers(Modifier.PUBLIC)
-                        .addAnnotation(overrideClassAnnotation)
-                        .returns(mapType);
+    private void reportOverlap(String message, Element element) {
+        if (allowRouteOverlap) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+        } else {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    message + "; pass -A" + OPTION_ALLOW_ROUTE_OVERLAP + "=true to allow it", element);
+        }
+    }
 
-        getRouteMapMethod.addStatement("$T<$T, $T> routeMap = new $T<>()", mapClass, stringClass, classWildcardType, hashMapClass);
-        for (Map.Entry<String, ClassName> entry : routeMap.entrySet()) {
-            getRouteMapMethod.addStatement("routeMap.put($S, $T.class)", entry.getKey(), entry.getValue());
+    /**
+     * 写出本模块的路由清单，每行为 "分组\t规范化路径\t类名"。
+     * 构建插件汇总所有模块的清单，发现跨模块重复的路由时让构建失败。
+     */
+    private void writeRouteManifest(String rootName, Map<String, Map<String, TypeElement>> groupRouteMap,
+                                    List<TypeElement> originatingElements) {
+        String name = "META-INF/xrouter/" + rootName + ".routes";
+        try {
+            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", name,
+                    originatingElements.toArray(new Element[0]));
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Map<String, TypeElement>> groupEntry : groupRouteMap.entrySet()) {
+                    for (Map.Entry<String, TypeElement> route : groupEntry.getValue().entrySet()) {
+                        writer.write(groupEntry.getKey() + "\t" + route.getKey() + "\t"
+                                + elementUtils.getBinaryName(route.getValue()) + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + name + ": " + e.getMessage());
         }
-        getRouteMapMethod.addStatement("return routeMap");
+    }
 
-        ClassName autoServiceClassName = ClassName.get(AutoService.class);
-        AnnotationSpec autoServiceAnnotationSpec =
-                AnnotationSpec.builder(autoServiceClassName)
-                        .addMember("value", "$T.class", routeTableClass)
+    private ClassName generateRouteClass(Map<String, TypeElement> routeMap, String group) {
+        WildcardTypeName wildcard = WildcardTypeName.subtypeOf(Object.class);
+        TypeName classWildcardType = ParameterizedTypeName.get(ClassName.get(Class.class), wildcard);
+
+        // 构造时只传入路径，索引里不出现类字面量
+        CodeBlock.Builder pathArgs = CodeBlock.builder();
+        // 类字面量只出现在 switch 分支里，命中哪个路由才加载哪个类
+        MethodSpec.Builder loadTargetMethod =
+                MethodSpec.methodBuilder("loadTarget")
+                        .addModifiers(Modifier.PROTECTED)
+                        .addAnnotation(Override.class)
+                        .addParameter(int.class, "index")
+                        .returns(classWildcardType)
+                        .beginControlFlow("switch (index)");
+        int index = 0;
+        for (Map.Entry<String, TypeElement> entry : routeMap.entrySet()) {
+            pathArgs.add(index == 0 ? "$S" : ", $S", entry.getKey());
+            loadTargetMethod.addCode("case $L:\n", index)
+                    .addStatement("$>return $T.class$<", ClassName.get(entry.getValue()));
+            index++;
+        }
+        loadTargetMethod.addCode("default:\n")
+                .addStatement("$>throw new $T(\"Unknown route index: \" + index)$<", IllegalArgumentException.class)
+                .endControlFlow();
+
+        MethodSpec constructor =
+                MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("super($L)", pathArgs.build())
                         .build();
 
-        TypeSpec routeClass =
-                TypeSpec.classBuilder(moduleName + "$RouteTable_" + group)
-                        .addAnnotation(autoServiceAnnotationSpec)
-                        .addSuperinterface(routeTableClass)
+        String className = GeneratedNames.unique(generatedNames,
+                GeneratedNames.identifier(moduleName) + "$RouteTable_" + GeneratedNames.identifier(group));
+        TypeSpec.Builder routeClassBuilder =
+                TypeSpec.classBuilder(className)
+                        .superclass(AbstractRouteTable.class)
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                        .addMethod(getRouteMapMethod.build())
-                        .build();
+                        .addMethod(constructor)
+                        .addMethod(loadTargetMethod.build());
+        // 增量编译时，分组内任一路由类变化都会重新生成这个路由表
+        for (TypeElement element : routeMap.values()) {
+            routeClassBuilder.addOriginatingElement(element);
+        }
+        TypeSpec routeClass = routeClassBuilder.build();
 
-        JavaFile javaFile = JavaFile.builder(packageName, routeClass)
+        JavaFile javaFile = JavaFile.builder(GeneratedNames.PACKAGE, routeClass)
                 .build();
 
         try {
@@ -159,5 +293,126 @@ public class RouteProcessor extends AbstractProcessor {
         } catch (IOException e) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate RouteTable_" + group + ".java: " + e.getMessage());
         }
+        return ClassName.get(GeneratedNames.PACKAGE, routeClass.name);
+    }
+
+    private void generateUriTable(Map<String, TypeElement> uriMap) {
+        TypeName builderType = ParameterizedTypeName.get(ClassName.get(UriMatcher.Builder.class),
+                ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)));
+        MethodSpec.Builder loadIntoMethod =
+                MethodSpec.methodBuilder("loadInto")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addParameter(builderType, "builder");
+        for (Map.Entry<String, TypeElement> entry : uriMap.entrySet()) {
+            loadIntoMethod.addStatement("builder.add($S, $T.class)", entry.getKey(), ClassName.get(entry.getValue()));
+        }
+
+        // 目标页面同时有 @Route 时记录它的分组和路径，按 URI 跳转时按这个路由选择拦截器
+        MethodSpec.Builder loadRoutesMethod =
+                MethodSpec.methodBuilder("loadRoutesInto")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Map.class),
+                                ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)),
+                                ClassName.get(RouteKey.class)), "routes");
+        boolean hasRoutes = false;
+        for (TypeElement element : uriMap.values()) {
+            Route route = element.getAnnotation(Route.class);
+            if (route != null) {
+                loadRoutesMethod.addStatement("routes.put($T.class, new $T($S, $S))", ClassName.get(element),
+                        RouteKey.class, route.group(), RouteTrie.normalize(route.path()));
+                hasRoutes = true;
+            }
+        }
+
+        TypeSpec.Builder uriTableBuilder =
+                TypeSpec.classBuilder(GeneratedNames.unique(generatedNames,
+                                GeneratedNames.identifier(moduleName) + "$UriTable"))
+                        .addAnnotation(AnnotationSpec.builder(AutoService.class)
+                                .addMember("value", "$T.class", UriTable.class)
+                                .build())
+                        .addSuperinterface(UriTable.class)
+                        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                        .addMethod(loadIntoMethod.build());
+        if (hasRoutes) {
+            uriTableBuilder.addMethod(loadRoutesMethod.build());
+        }
+        for (TypeElement element : uriMap.values()) {
+            uriTableBuilder.addOriginatingElement(element);
+        }
+        TypeSpec uriTable = uriTableBuilder.build();
+
+        try {
+            JavaFile.builder(GeneratedNames.PACKAGE, uriTable)
+                    .build()
+                    .writeTo(filer);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + uriTable.name + ".java: " + e.getMessage());
+        }
+    }
+
+    private String generateRouteRoot(Map<String, ClassName> groupTableMap, List<TypeElement> originatingElements) {
+        ClassName routeRootClass = ClassName.get(RouteRoot.class);
+        ClassName routeTableClass = ClassName.get(RouteTable.class);
+        ClassName overrideClassAnnotation = ClassName.get(Override.class);
+
+        CodeBlock.Builder groups = CodeBlock.builder();
+        for (String group : groupTableMap.keySet()) {
+            if (!groups.isEmpty()) {
+                groups.add(", ");
+            }
+            groups.add("$S", group);
+        }
+
+        MethodSpec getGroupsMethod =
+                MethodSpec.methodBuilder("getGroups")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(overrideClassAnnotation)
+                        .returns(ArrayTypeName.of(String.class))
+                        .addStatement("return new $T[]{$L}", String.class, groups.build())
+                        .build();
+
+        // 按分组直接 new 出路由表，只加载被访问到的分组
+        MethodSpec.Builder createRouteTableMethod =
+                MethodSpec.methodBuilder("createRouteTable")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(overrideClassAnnotation)
+                        .returns(routeTableClass)
+                        .addParameter(String.class, "group")
+                        .beginControlFlow("switch (group)");
+        for (Map.Entry<String, ClassName> entry : groupTableMap.entrySet()) {
+            createRouteTableMethod.addStatement("case $S: return new $T()", entry.getKey(), entry.getValue());
+        }
+        createRouteTableMethod
+                .addStatement("default: return null")
+                .endControlFlow();
+
+        AnnotationSpec autoServiceAnnotationSpec =
+                AnnotationSpec.builder(ClassName.get(AutoService.class))
+                        .addMember("value", "$T.class", routeRootClass)
+                        .build();
+
+        TypeSpec.Builder rootClassBuilder =
+                TypeSpec.classBuilder(GeneratedNames.unique(generatedNames,
+                                GeneratedNames.identifier(moduleName) + "$RouteRoot"))
+                        .addAnnotation(autoServiceAnnotationSpec)
+                        .addSuperinterface(routeRootClass)
+                        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                        .addMethod(getGroupsMethod)
+                        .addMethod(createRouteTableMethod.build());
+        for (TypeElement element : originatingElements) {
+            rootClassBuilder.addOriginatingElement(element);
+        }
+        TypeSpec rootClass = rootClassBuilder.build();
+
+        try {
+            JavaFile.builder(GeneratedNames.PACKAGE, rootClass)
+                    .build()
+                    .writeTo(filer);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + rootClass.name + ".java: " + e.getMessage());
+        }
+        return rootClass.name;
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.google.auto.service.AutoService;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
@@ -16,29 +17,49 @@ import com.squareup.javapoet.TypeVariableName;
 import com.squareup.javapoet.WildcardTypeName;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
 
 @AutoService(Processor.class)
 public class RouteServiceProcessor extends AbstractProcessor {
+    private static final ClassName SERVICE_SINGLETON = ClassName.get("com.github.xrouter", "ServiceSingleton");
+    private static final ClassName ROUTER = ClassName.get("com.github.xrouter", "Router");
+    private static final ClassName LAZY = ClassName.get("com.github.xrouter", "Lazy");
     private String moduleName;
-    private String packageName;
+    // 已生成的类名，后续轮次再出现服务时生成新的类，运行时由 ServiceLoader 一并加载
+    private final Set<String> generatedNames = new HashSet<>();
+    // 本模块所有轮次中声明过的服务路径 -> 实现类
+    private final Map<String, String> servicePaths = new HashMap<>();
     private Elements elementUtils;
+    private Types typeUtils;
     private Filer filer;
 
     @Override
@@ -46,6 +67,7 @@ public class RouteServiceProcessor extends AbstractProcessor {
         super.init(processingEnv);
         filer = processingEnv.getFiler();
         elementUtils = processingEnv.getElementUtils();
+        typeUtils = processingEnv.getTypeUtils();
         Map<String, String> options = processingEnv.getOptions();
         moduleName = options.get("moduleName");
         if (moduleName == null) {
@@ -67,26 +89,29 @@ public class RouteServiceProcessor extends AbstractProcessor {
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-        Map<String, TypeMirror> serviceMap = new HashMap<>();
+        Map<String, TypeElement> serviceMap = new TreeMap<>();
         for (Element element : roundEnv.getElementsAnnotatedWith(Service.class)) {
             TypeElement typeElement = (TypeElement) element;
-            if (packageName == null) {
-                packageName = elementUtils.getPackageOf(typeElement).getQualifiedName().toString();
-            }
-
             Service service = element.getAnnotation(Service.class);
             String path = service.path();
-            serviceMap.put(path, element.asType());
+            String previous = servicePaths.putIfAbsent(path, typeElement.getQualifiedName().toString());
+            if (previous != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Duplicate @Service path " + path + ", already declared by " + previous, element);
+                continue;
+            }
+            serviceMap.put(path, typeElement);
         }
 
         if (!serviceMap.isEmpty()) {
             generateRouterService(serviceMap);
+            generateServiceAccessors(serviceMap);
         }
 
         return true;
     }
 
-    private void generateRouterService(Map<String, TypeMirror> serviceMap) {
+    private void generateRouterService(Map<String, TypeElement> serviceMap) {
         ClassName routerServiceInterface = ClassName.get(RouterService.class);
 
         ClassName autoServiceClassName = ClassName.get(AutoService.class);
@@ -100,77 +125,468 @@ public class RouteServiceProcessor extends AbstractProcessor {
         ClassName value = ClassName.get(Object.class);
         ArrayTypeName arrayValue = ArrayTypeName.of(value);
 
-
-        ParameterizedTypeName parameterizedTypeName =
-                ParameterizedTypeName.get(ClassName.get(Map.class),
-                        ClassName.get(String.class),
-                        ClassName.get(Class.class));
-
         AnnotationSpec autoServiceAnnotationSpec =
                 AnnotationSpec.builder(autoServiceClassName)
                         .addMember("value", "$T.class",
                                 ClassName.get(RouterService.class))
                         .build();
 
-        FieldSpec fieldSpec =
-                FieldSpec.builder(parameterizedTypeName, "services")
-                        .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
-                        .initializer("new $T<>()", HashMap.class)
+        AnnotationSpec uncheckedAnnotationSpec =
+                AnnotationSpec.builder(SuppressWarnings.class)
+                        .addMember("value", "$S", "unchecked")
+                        .build();
+
+        TypeVariableName t = TypeVariableName.get("T");
+
+        CodeBlock.Builder paths = CodeBlock.builder();
+        for (String path : serviceMap.keySet()) {
+            if (!paths.isEmpty()) {
+                paths.add(", ");
+            }
+            paths.add("$S", path);
+        }
+        MethodSpec getServicePathsMethod =
+                MethodSpec.methodBuilder("getServicePaths")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(ArrayTypeName.of(String.class))
+                        .addStatement("return new $T[]{$L}", String.class, paths.build())
                         .build();
 
-        MethodSpec constructorSpec = MethodSpec.constructorBuilder()
-                .addModifiers(Modifier.PUBLIC)
-                .addCode(initServiceMapCode(serviceMap))
-                .build();
+        ClassName scopeClass = ClassName.get(Service.Scope.class);
+        MethodSpec.Builder getScopeMethod =
+                MethodSpec.methodBuilder("getScope")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(scopeClass)
+                        .addParameter(String.class, "path")
+                        .beginControlFlow("switch (path)");
+
+        // 无参构造直接 new，不经过反射
+        MethodSpec.Builder defaultInstanceMethod =
+                MethodSpec.methodBuilder("newServiceInstance")
+                        .addAnnotation(Override.class)
+                        .addAnnotation(uncheckedAnnotationSpec)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addTypeVariable(t)
+                        .returns(t)
+                        .addParameter(String.class, "path")
+                        .beginControlFlow("switch (path)");
+
+        MethodSpec.Builder instanceMethod =
+                MethodSpec.methodBuilder("newServiceInstance")
+                        .addAnnotation(Override.class)
+                        .addAnnotation(uncheckedAnnotationSpec)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addTypeVariable(t)
+                        .returns(t)
+                        .addParameter(String.class, "path")
+                        .addParameter(arrayTypeName, "parameterTypes")
+                        .varargs()
+                        .addParameter(arrayValue, "initargs")
+                        .beginControlFlow("switch (path)");
+
+        List<MethodSpec> factoryMethods = new ArrayList<>();
+        Set<String> factoryNames = new HashSet<>();
+        for (Map.Entry<String, TypeElement> entry : serviceMap.entrySet()) {
+            String path = entry.getKey();
+            TypeElement serviceElement = entry.getValue();
+            List<ExecutableElement> constructors = getPublicConstructors(serviceElement);
+            if (constructors == null) {
+                continue;
+            }
+
+            Service.Scope scope = serviceElement.getAnnotation(Service.class).scope();
+            getScopeMethod.addStatement("case $S: return $T.$L", path, scopeClass, scope.name());
+
+            String factoryName = "new" + serviceElement.getSimpleName();
+            for (int i = 2; !factoryNames.add(factoryName); i++) {
+                factoryName = "new" + serviceElement.getSimpleName() + i;
+            }
+            factoryMethods.add(generateFactoryMethod(factoryName, serviceElement, constructors, arrayTypeName, arrayValue));
+            instanceMethod.addStatement("case $S: return (T) $N(parameterTypes, initargs)", path, factoryName);
+
+            for (ExecutableElement constructor : constructors) {
+                if (constructor.getParameters().isEmpty()) {
+                    if (constructor.getThrownTypes().isEmpty()) {
+                        defaultInstanceMethod.addStatement("case $S: return (T) $L", path, newInstanceCode(serviceElement, constructor));
+                    } else {
+                        // 受检异常由工厂方法统一处理
+                        defaultInstanceMethod.addStatement("case $S: return (T) $N(null, null)", path, factoryName);
+                    }
+                    break;
+                }
+            }
+        }
+        getScopeMethod.addStatement("default: return null").endControlFlow();
+        defaultInstanceMethod.addStatement("default: return null").endControlFlow();
+        instanceMethod.addStatement("default: return null").endControlFlow();
 
         // 定义 RouterServiceImpl 类
-        TypeSpec routerServiceImpl =
-                TypeSpec.classBuilder("Service_" + moduleName + "$RouterService")
+        TypeSpec.Builder routerServiceBuilder =
+                TypeSpec.classBuilder(GeneratedNames.unique(generatedNames,
+                                "Service_" + GeneratedNames.identifier(String.valueOf(moduleName)) + "$RouterService"))
                         .addAnnotation(autoServiceAnnotationSpec)
                         .addModifiers(Modifier.PUBLIC)
                         .addSuperinterface(routerServiceInterface)
-                        .addField(fieldSpec)
-                        .addMethod(constructorSpec)
-                        .addMethod(
-                                MethodSpec.methodBuilder("newServiceInstance")
-                                        .addModifiers(Modifier.PUBLIC)
-                                        .addTypeVariable(TypeVariableName.get("T"))
-                                        .returns(TypeVariableName.get("T"))
-                                        .addParameter(String.class, "path")
-                                        .addParameter(arrayTypeName, "parameterTypes")
-                                        .varargs()
-                                        .addParameter(arrayValue, "initargs")
-                                        .addCode(getServiceCode(new String[]{"parameterTypes", "initargs"}))
-                                        .build()
-                        )
-                        .build();
+                        .addMethod(getServicePathsMethod)
+                        .addMethod(getScopeMethod.build())
+                        .addMethod(defaultInstanceMethod.build())
+                        .addMethod(instanceMethod.build())
+                        .addMethods(factoryMethods);
+        // 增量编译时，任一服务类变化都会重新生成这个类
+        for (TypeElement element : serviceMap.values()) {
+            routerServiceBuilder.addOriginatingElement(element);
+        }
+        TypeSpec routerServiceImpl = routerServiceBuilder.build();
 
         try {
-            JavaFile.builder(packageName, routerServiceImpl)
+            JavaFile.builder(GeneratedNames.PACKAGE, routerServiceImpl)
                     .build()
                     .writeTo(filer);
         } catch (IOException e) {
-            e.printStackTrace();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to generate " + routerServiceImpl.name + ".java: " + e.getMessage());
         }
     }
 
-    private String initServiceMapCode(Map<String, TypeMirror> serviceMap) {
-        StringBuilder code = new StringBuilder();
-        for (Map.Entry<String, TypeMirror> entry : serviceMap.entrySet()) {
-            code.append("services.put(\"").append(entry.getKey()).append("\", ").append(entry.getValue()).append(".class);\n");
+    /**
+     * 生成 {@code <Module>Services}，每个服务一个静态方法，返回类型为服务实现的唯一接口，编译期即可发现拼写错误。
+     * PROTOTYPE 直接 new，SINGLETON 通过 ServiceSingleton 与按路径获取共用同一个实例，ROUTER 需要传入所属的 Router。
+     * <p>
+     * 返回类型为接口时另外生成 {@code lazyXxx()}，返回转发接口方法的代理，第一次调用方法时才创建服务实例。
+     */
+    private void generateServiceAccessors(Map<String, TypeElement> serviceMap) {
+        String moduleIdentifier = GeneratedNames.identifier(String.valueOf(moduleName));
+        String className = GeneratedNames.unique(generatedNames,
+                Character.toUpperCase(moduleIdentifier.charAt(0)) + moduleIdentifier.substring(1) + "Services");
+        TypeSpec.Builder accessors =
+                TypeSpec.classBuilder(className)
+                        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                        .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+
+        // 多个服务返回同一个接口时都按实现类命名，方法名不随处理顺序变化
+        Map<String, Integer> typeNameCounts = new HashMap<>();
+        for (TypeElement serviceElement : serviceMap.values()) {
+            typeNameCounts.merge(methodName(simpleName(accessorType(serviceElement))), 1, Integer::sum);
+        }
+        Set<String> methodNames = new HashSet<>();
+        Set<String> proxyNames = new HashSet<>();
+        Map<TypeName, ClassName> proxies = new HashMap<>();
+        for (Map.Entry<String, TypeElement> entry : serviceMap.entrySet()) {
+            String path = entry.getKey();
+            TypeElement serviceElement = entry.getValue();
+            if (!serviceElement.getModifiers().contains(Modifier.PUBLIC)
+                    || serviceElement.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            if (!serviceElement.getTypeParameters().isEmpty()) {
+                // 静态方法中无法给出实现类的类型参数
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "No accessor generated for generic service '" + path + "' ("
+                                + serviceElement.getQualifiedName() + "), use Router.getService(\"" + path + "\") instead",
+                        serviceElement);
+                continue;
+            }
+            TypeName returnType = accessorType(serviceElement);
+            String methodName = methodName(simpleName(returnType));
+            if (typeNameCounts.get(methodName) > 1) {
+                methodName = methodName(serviceElement.getSimpleName().toString());
+            }
+            methodName = GeneratedNames.unique(methodNames, methodName);
+            Service.Scope scope = serviceElement.getAnnotation(Service.class).scope();
+
+            String singletonField = null;
+            boolean hasDefaultConstructor = false;
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(serviceElement.getEnclosedElements())) {
+                if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                    continue;
+                }
+                // 声明了受检异常的构造函数只能通过按路径获取创建；SINGLETON / ROUTER 在循环之后统一提示
+                if (!constructor.getThrownTypes().isEmpty()) {
+                    if (scope == Service.Scope.PROTOTYPE) {
+                        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                                "No accessor generated for this constructor of service '" + path
+                                        + "': it declares checked exceptions, use Router.getService instead",
+                                constructor);
+                    }
+                    continue;
+                }
+                List<? extends VariableElement> parameters = constructor.getParameters();
+                hasDefaultConstructor |= parameters.isEmpty();
+                MethodSpec.Builder method =
+                        MethodSpec.methodBuilder(methodName)
+                                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                                .returns(returnType)
+                                .addJavadoc("$L, $L\n", path, scope.name());
+                switch (scope) {
+                    case SINGLETON: {
+                        if (!parameters.isEmpty()) {
+                            continue;
+                        }
+                        String fieldName = constantName(methodName);
+                        singletonField = fieldName;
+                        accessors.addField(FieldSpec.builder(
+                                        ParameterizedTypeName.get(SERVICE_SINGLETON, returnType.box()), fieldName,
+                                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                .initializer("new $T<>($S, $T::new)", SERVICE_SINGLETON, path, ClassName.get(serviceElement))
+                                .build());
+                        method.addStatement("return $N.get()", fieldName);
+                        break;
+                    }
+                    case ROUTER:
+                        if (!parameters.isEmpty()) {
+                            continue;
+                        }
+                        method.addParameter(ROUTER, "router")
+                                .addStatement("return router.getService($S)", path);
+                        break;
+                    default: {
+                        CodeBlock.Builder args = CodeBlock.builder();
+                        for (VariableElement parameter : parameters) {
+                            String name = parameter.getSimpleName().toString();
+                            method.addParameter(TypeName.get(parameter.asType()), name);
+                            args.add(args.isEmpty() ? "$N" : ", $N", name);
+                        }
+                        method.varargs(constructor.isVarArgs())
+                                .addStatement("return new $T($L)", ClassName.get(serviceElement), args.build());
+                        break;
+                    }
+                }
+                accessors.addMethod(method.build());
+            }
+            if (scope != Service.Scope.PROTOTYPE && !hasDefaultConstructor) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "No accessor generated for " + scope + " service '" + path + "' ("
+                                + serviceElement.getQualifiedName() + "): it needs a public no-arg constructor "
+                                + "without checked exceptions, use Router.getService(\"" + path + "\") instead",
+                        serviceElement);
+            }
+
+            DeclaredType proxied = proxiedInterface(serviceElement);
+            if (proxied != null && hasDefaultConstructor) {
+                ClassName proxyName = proxies.get(returnType);
+                if (proxyName == null) {
+                    proxyName = ClassName.get(GeneratedNames.PACKAGE, className,
+                            GeneratedNames.unique(proxyNames, proxied.asElement().getSimpleName() + "Proxy"));
+                    proxies.put(returnType, proxyName);
+                    accessors.addType(generateLazyProxy(proxyName, proxied));
+                }
+                MethodSpec.Builder method =
+                        MethodSpec.methodBuilder(GeneratedNames.unique(methodNames,
+                                        "lazy" + Character.toUpperCase(methodName.charAt(0)) + methodName.substring(1)))
+                                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                                .returns(returnType)
+                                .addJavadoc("$L, $L, 第一次调用接口方法时才创建实例\n", path, scope.name());
+                switch (scope) {
+                    case SINGLETON:
+                        method.addStatement("return new $T($N)", proxyName, singletonField);
+                        break;
+                    case ROUTER:
+                        method.addParameter(ROUTER, "router")
+                                .addStatement("return new $T(router.<$T>lazyService($S))", proxyName, returnType, path);
+                        break;
+                    default:
+                        method.addStatement("return new $T($T.of($T::new))",
+                                proxyName, LAZY, ClassName.get(serviceElement));
+                        break;
+                }
+                accessors.addMethod(method.build());
+            }
+            accessors.addOriginatingElement(serviceElement);
         }
-        return code.toString();
+
+        TypeSpec accessorClass = accessors.build();
+        try {
+            JavaFile.builder(GeneratedNames.PACKAGE, accessorClass)
+                    .build()
+                    .writeTo(filer);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to generate " + accessorClass.name + ".java: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 生成实现服务接口的代理，每个方法都转发给 delegate 创建的实例，包括继承的方法与 default 方法。
+     *
+     * @param declaredType 实现类声明的接口类型，泛型接口的方法签名按其中的类型参数生成
+     */
+    private TypeSpec generateLazyProxy(ClassName proxyName, DeclaredType declaredType) {
+        TypeElement serviceInterface = (TypeElement) declaredType.asElement();
+        TypeName interfaceType = TypeName.get(declaredType);
+        TypeName delegateType = ParameterizedTypeName.get(LAZY, interfaceType);
+        TypeSpec.Builder proxy =
+                TypeSpec.classBuilder(proxyName)
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .addSuperinterface(interfaceType)
+                        .addField(delegateType, "delegate", Modifier.PRIVATE, Modifier.FINAL)
+                        .addMethod(MethodSpec.constructorBuilder()
+                                .addParameter(delegateType, "delegate")
+                                .addStatement("this.delegate = delegate")
+                                .build());
+        for (ExecutableElement method : ElementFilter.methodsIn(elementUtils.getAllMembers(serviceInterface))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)
+                    || ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+            MethodSpec.Builder forward = MethodSpec.overriding(method, declaredType, typeUtils);
+            CodeBlock.Builder args = CodeBlock.builder();
+            for (VariableElement parameter : method.getParameters()) {
+                args.add(args.isEmpty() ? "$N" : ", $N", parameter.getSimpleName().toString());
+            }
+            if (method.getReturnType().getKind() == TypeKind.VOID) {
+                forward.addStatement("delegate.get().$N($L)", method.getSimpleName().toString(), args.build());
+            } else {
+                forward.addStatement("return delegate.get().$N($L)", method.getSimpleName().toString(), args.build());
+            }
+            proxy.addMethod(forward.build());
+        }
+        return proxy.build();
+    }
+
+    /**
+     * 返回类型为 public 接口时才能生成代理。
+     */
+    private DeclaredType proxiedInterface(TypeElement serviceElement) {
+        List<? extends TypeMirror> interfaces = serviceElement.getInterfaces();
+        if (interfaces.size() != 1) {
+            return null;
+        }
+        Element element = typeUtils.asElement(interfaces.get(0));
+        if (element == null || element.getKind() != ElementKind.INTERFACE
+                || !element.getModifiers().contains(Modifier.PUBLIC)) {
+            return null;
+        }
+        return (DeclaredType) interfaces.get(0);
+    }
+
+    /**
+     * 服务实现只有一个 public 接口时返回接口，泛型接口带上实现类给出的类型参数，例如 {@code Repository<User>}；
+     * 否则返回实现类本身。
+     */
+    private TypeName accessorType(TypeElement serviceElement) {
+        List<? extends TypeMirror> interfaces = serviceElement.getInterfaces();
+        if (interfaces.size() == 1) {
+            Element element = typeUtils.asElement(interfaces.get(0));
+            if (element instanceof TypeElement && element.getModifiers().contains(Modifier.PUBLIC)) {
+                return TypeName.get(interfaces.get(0));
+            }
+        }
+        return ClassName.get(serviceElement);
+    }
+
+    private static String simpleName(TypeName type) {
+        return type instanceof ParameterizedTypeName
+                ? ((ParameterizedTypeName) type).rawType.simpleName()
+                : ((ClassName) type).simpleName();
     }
 
-    private String getServiceCode(String[] parameterName) {
-        return "Class<?> cl = services.get(path);\n" +
-                "if (cl != null) {\n" +
-                "    try {\n" +
-                "        return (T) cl.getConstructor(" + parameterName[0] + ").newInstance(" + parameterName[1] + ");\n" +
-                "    } catch (Exception e) {\n" +
-                "        e.printStackTrace();\n" +
-                "    }\n" +
-                "}\n" +
-                "return null;";
+    /**
+     * 按返回类型命名，例如 UserService -> userService()，IMainService -> mainService()。
+     */
+    private static String methodName(String typeName) {
+        if (typeName.length() > 2 && typeName.charAt(0) == 'I' && Character.isUpperCase(typeName.charAt(1))) {
+            typeName = typeName.substring(1);
+        }
+        String name = Character.toLowerCase(typeName.charAt(0)) + typeName.substring(1);
+        return SourceVersion.isKeyword(name) ? name + "_" : name;
+    }
+
+    private static String constantName(String methodName) {
+        StringBuilder builder = new StringBuilder(methodName.length() + 4);
+        for (int i = 0; i < methodName.length(); i++) {
+            char c = methodName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                builder.append('_');
+            }
+            builder.append(Character.toUpperCase(c));
+        }
+        return builder.toString();
+    }
+
+    private List<ExecutableElement> getPublicConstructors(TypeElement serviceElement) {
+        Messager messager = processingEnv.getMessager();
+        if (!serviceElement.getModifiers().contains(Modifier.PUBLIC)
+                || serviceElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Service class must be public and not abstract.", serviceElement);
+            return null;
+        }
+        List<ExecutableElement> constructors = new ArrayList<>();
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(serviceElement.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                constructors.add(constructor);
+            }
+        }
+        if (constructors.isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Service class must declare a public constructor.", serviceElement);
+            return null;
+        }
+        return constructors;
+    }
+
+    /**
+     * 为一个服务生成按构造参数分派的工厂方法。
+     * 传入 parameterTypes 时按声明的参数类型精确匹配，否则按 initargs 的运行时类型匹配，两种方式都要求 initargs 的个数一致。
+     */
+    private MethodSpec generateFactoryMethod(String factoryName, TypeElement serviceElement,
+                                             List<ExecutableElement> constructors,
+                                             TypeName parameterTypesType, TypeName initargsType) {
+        CodeBlock.Builder body = CodeBlock.builder()
+                .addStatement("int count = initargs == null ? 0 : initargs.length");
+        boolean throwsChecked = false;
+        for (ExecutableElement constructor : constructors) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            CodeBlock.Builder byTypes = CodeBlock.builder()
+                    .add("count == $L && parameterTypes.length == $L", parameters.size(), parameters.size());
+            CodeBlock.Builder byArgs = CodeBlock.builder()
+                    .add("count == $L", parameters.size());
+            for (int i = 0; i < parameters.size(); i++) {
+                TypeMirror type = typeUtils.erasure(parameters.get(i).asType());
+                byTypes.add(" && parameterTypes[$L] == $T.class", i, TypeName.get(type));
+                if (type.getKind().isPrimitive()) {
+                    byArgs.add(" && initargs[$L] instanceof $T", i, TypeName.get(type).box());
+                } else {
+                    byArgs.add(" && (initargs[$L] == null || initargs[$L] instanceof $T)", i, i, TypeName.get(type));
+                }
+            }
+            body.beginControlFlow("if (parameterTypes != null ? $L : $L)", byTypes.build(), byArgs.build())
+                    .addStatement("return $L", newInstanceCode(serviceElement, constructor))
+                    .endControlFlow();
+            throwsChecked |= !constructor.getThrownTypes().isEmpty();
+        }
+
+        MethodSpec.Builder factory =
+                MethodSpec.methodBuilder(factoryName)
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                        .returns(ClassName.get(serviceElement))
+                        .addParameter(parameterTypesType, "parameterTypes")
+                        .addParameter(initargsType, "initargs");
+        if (throwsChecked) {
+            // 构造函数声明了受检异常时保持原有行为：记录异常并返回 null
+            ClassName serviceClass = ClassName.get(serviceElement);
+            factory.beginControlFlow("try")
+                    .addCode(body.build())
+                    .nextControlFlow("catch ($T e)", Exception.class)
+                    .addStatement("$T.getLogger($T.class.getName()).log($T.WARNING, $S, e)",
+                            Logger.class, serviceClass, Level.class, "Failed to create " + serviceClass)
+                    .endControlFlow();
+        } else {
+            factory.addCode(body.build());
+        }
+        return factory.addStatement("return null").build();
+    }
+
+    private CodeBlock newInstanceCode(TypeElement serviceElement, ExecutableElement constructor) {
+        CodeBlock.Builder code = CodeBlock.builder().add("new $T(", ClassName.get(serviceElement));
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                code.add(", ");
+            }
+            code.add("($T) initargs[$L]", TypeName.get(typeUtils.erasure(parameters.get(i).asType())), i);
+        }
+        return code.add(")").build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.github.xrouter.apt;
+
+import com.github.core.RouteKey;
+import com.github.core.UriTable;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.*;
+
+/**
+ * 同一分组内重复和前缀重叠的路由在编译期报告；URI 路由表记录目标页面的 @Route。
+ */
+public class RouteProcessorTest {
+
+    private static String page(String name, String path) {
+        return "package demo;\n"
+                + "@com.github.core.annotation.Route(path = \"" + path + "\", group = \"demo\")\n"
+                + "public class " + name + " {\n"
+                + "}\n";
+    }
+
+    private static List<Processor> processors() {
+        return Collections.singletonList(new RouteProcessor());
+    }
+
+    private static String joined(List<String> messages) {
+        return String.join("\n", messages);
+    }
+
+    @Test
+    public void distinctRoutesCompileWithoutOverlapWarnings() throws Exception {
+        TestCompiler.Result result = TestCompiler.compile(processors(),
+                page("UserPage", "/user"), page("OrderPage", "/order/detail"));
+
+        assertTrue(result.toString(), result.success);
+        String warnings = joined(result.messages(Diagnostic.Kind.WARNING));
+        assertFalse(warnings, warnings.contains("prefix"));
+    }
+
+    @Test
+    public void duplicatePathAfterNormalizationIsAnError() throws Exception {
+        TestCompiler.Result result = TestCompiler.compile(processors(),
+                page("UserPage", "/user/detail"), page("OtherUserPage", "user//detail/"));
+
+        assertFalse(result.success);
+        String errors = joined(result.messages(Diagnostic.Kind.ERROR));
+        assertTrue(errors, errors.contains("Duplicate route path"));
+    }
+
+    @Test
+    public void prefixOverlapIsAnErrorByDefault() throws Exception {
+        // 更深的路由先声明，同样能发现重叠
+        TestCompiler.Result result = TestCompiler.compile(processors(),
+                page("DetailPage", "/user/detail"), page("UserPage", "/user"));
+
+        assertFalse(result.success);
+        String errors = joined(result.messages(Diagnostic.Kind.ERROR));
+        assertTrue(errors, errors.contains("Route '/user' (demo.UserPage) is a prefix of '/user/detail'"));
+        assertTrue(errors, errors.contains("-AallowRouteOverlap=true"));
+    }
+
+    @Test
+    public void prefixOverlapIsAWarningWhenAllowed() throws Exception {
+        TestCompiler.Result result = TestCompiler.compile(
+                Arrays.asList("-AmoduleName=test", "-AallowRouteOverlap=true"), processors(),
+                page("UserPage", "/user"), page("DetailPage", "/user/detail"));
+
+        assertTrue(result.toString(), result.success);
+        String warnings = joined(result.messages(Diagnostic.Kind.WARNING));
+        assertTrue(warnings, warnings.contains("Route '/user' (demo.UserPage) is a prefix of '/user/detail'"));
+        assertFalse(warnings, warnings.contains("not recognized"));
+    }
+
+    @Test
+    public void siblingsWithCommonTextPrefixDoNotOverlap() throws Exception {
+        TestCompiler.Result result = TestCompiler.compile(processors(),
+                page("UserPage", "/user"), page("UsersPage", "/users/list"));
+
+        assertTrue(result.toString(), result.success);
+        String warnings = joined(result.messages(Diagnostic.Kind.WARNING));
+        assertFalse(warnings, warnings.contains("prefix"));
+    }
+
+    @Test
+    public void uriTableRecordsTheRouteOfItsTargets() throws Exception {
+        String routed = "package demo;\n"
+                + "@com.github.core.annotation.Route(path = \"user//detail/\", group = \"demo\")\n"
+                + "@com.github.core.annotation.RouterUri(uri = \"app://user/{id:int}\")\n"
+                + "public class UserPage {\n"
+                + "}\n";
+        String uriOnly = "package demo;\n"
+                + "@com.github.core.annotation.RouterUri(uri = \"app://order/{id}\")\n"
+                + "public class OrderPage {\n"
+                + "}\n";
+        TestCompiler.Result result = TestCompiler.compile(processors(), routed, uriOnly);
+        assertTrue(result.toString(), result.success);
+
+        ClassLoader loader = result.classLoader();
+        UriTable table = (UriTable) loader.loadClass("com.github.xrouter.generated.test$UriTable")
+                .getDeclaredConstructor().newInstance();
+        Map<Class<?>, RouteKey> routes = new HashMap<>();
+        table.loadRoutesInto(routes);
+
+        assertEquals(1, routes.size());
+        RouteKey route = routes.get(loader.loadClass("demo.UserPage"));
+        assertEquals("demo", route.getGroup());
+        assertEquals("/user/detail", route.getPath());
+    }
+}
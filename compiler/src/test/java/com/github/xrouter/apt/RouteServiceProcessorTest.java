@@ -0,0 +1,324 @@
+package com.github.xrouter.apt;
+
+import com.github.core.RouterService;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.*;
+
+/**
+ * 服务工厂与类型化访问方法的生成结果。
+ */
+public class RouteServiceProcessorTest {
+
+    private static TestCompiler.Result compile(String... sources) throws Exception {
+        List<String> all = new ArrayList<>();
+        Collections.addAll(all, TestCompiler.RUNTIME_STUBS);
+        Collections.addAll(all, sources);
+        List<Processor> processors = Collections.singletonList(new RouteServiceProcessor());
+        return TestCompiler.compile(processors, all.toArray(new String[0]));
+    }
+
+    private static RouterService routerService(ClassLoader loader) throws Exception {
+        return (RouterService) loader.loadClass("com.github.xrouter.generated.Service_test$RouterService")
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+
+    @Test
+    public void constructorsAreCalledDirectly() throws Exception {
+        TestCompiler.Result result = compile(
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/plain\")\n"
+                        + "public class PlainService {\n"
+                        + "    public final String name;\n"
+                        + "    public PlainService() { this(\"default\"); }\n"
+                        + "    public PlainService(String name) { this.name = name; }\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        RouterService service = routerService(result.classLoader());
+        Object instance = service.newServiceInstance("/demo/plain");
+        assertEquals("default", instance.getClass().getField("name").get(instance));
+        instance = service.newServiceInstance("/demo/plain", new Class<?>[]{String.class}, "custom");
+        assertEquals("custom", instance.getClass().getField("name").get(instance));
+        assertNull(service.newServiceInstance("/demo/missing"));
+    }
+
+    @Test
+    public void constructorThrowingCheckedExceptionCompiles() throws Exception {
+        TestCompiler.Result result = compile(
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/io\")\n"
+                        + "public class IoService {\n"
+                        + "    public static boolean fail;\n"
+                        + "    public IoService() throws java.io.IOException {\n"
+                        + "        if (fail) throw new java.io.IOException(\"disk\");\n"
+                        + "    }\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        ClassLoader loader = result.classLoader();
+        RouterService service = routerService(loader);
+        assertNotNull(service.newServiceInstance("/demo/io"));
+        assertNotNull(service.newServiceInstance("/demo/io", null, (Object[]) null));
+
+        loader.loadClass("demo.IoService").getField("fail").setBoolean(null, true);
+        // 与反射创建时一致：构造失败返回 null
+        assertNull(service.newServiceInstance("/demo/io"));
+    }
+
+    @Test
+    public void argumentCountMustMatchTheParameterTypes() throws Exception {
+        TestCompiler.Result result = compile(
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/pair\")\n"
+                        + "public class PairService {\n"
+                        + "    public PairService(String first, String second) {}\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        RouterService service = routerService(result.classLoader());
+        Class<?>[] types = {String.class, String.class};
+        assertNotNull(service.newServiceInstance("/demo/pair", types, "a", "b"));
+        // 与反射创建时一致：参数个数不符时返回 null，而不是越界
+        assertNull(service.newServiceInstance("/demo/pair", types, "a"));
+        assertNull(service.newServiceInstance("/demo/pair", types, (Object[]) null));
+    }
+
+    @Test
+    public void duplicatePathIsAnError() throws Exception {
+        TestCompiler.Result result = compile(
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/same\")\n"
+                        + "public class FirstService {\n"
+                        + "}\n",
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/same\")\n"
+                        + "public class SecondService {\n"
+                        + "}\n");
+        assertFalse(result.success);
+        List<String> errors = result.messages(Diagnostic.Kind.ERROR);
+        assertEquals(errors.toString(), 1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("Duplicate @Service path /demo/same"));
+    }
+
+    @Test
+    public void nonPublicServiceIsAnError() throws Exception {
+        TestCompiler.Result result = compile(
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/hidden\")\n"
+                        + "class HiddenService {\n"
+                        + "}\n");
+        assertFalse(result.success);
+        assertTrue(result.messages(Diagnostic.Kind.ERROR).contains("@Service class must be public and not abstract."));
+    }
+
+    private static final String GREETER =
+            "package demo;\n"
+                    + "public interface IGreeter {\n"
+                    + "    String greet(String name);\n"
+                    + "    default String hello() { return greet(\"world\"); }\n"
+                    + "}\n";
+
+    private static Object call(Class<?> type, String method, Object... args) throws Exception {
+        for (Method candidate : type.getMethods()) {
+            if (candidate.getName().equals(method) && candidate.getParameterCount() == args.length) {
+                return candidate.invoke(null, args);
+            }
+        }
+        throw new NoSuchMethodException(type.getName() + "." + method);
+    }
+
+    private static Set<String> methodNames(Class<?> type) {
+        Set<String> names = new TreeSet<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers())) {
+                names.add(method.getName());
+            }
+        }
+        return names;
+    }
+
+    @Test
+    public void prototypeAccessorsAndLazyProxy() throws Exception {
+        TestCompiler.Result result = compile(GREETER,
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/greeter\")\n"
+                        + "public class GreeterImpl implements IGreeter {\n"
+                        + "    public static int created;\n"
+                        + "    private final String prefix;\n"
+                        + "    public GreeterImpl() { this(\"hi \"); }\n"
+                        + "    public GreeterImpl(String prefix) { this.prefix = prefix; created++; }\n"
+                        + "    public String greet(String name) { return prefix + name; }\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        ClassLoader loader = result.classLoader();
+        Class<?> services = loader.loadClass("com.github.xrouter.generated.TestServices");
+        Class<?> greeterInterface = loader.loadClass("demo.IGreeter");
+        Field created = loader.loadClass("demo.GreeterImpl").getField("created");
+        // I 前缀去掉，返回类型是服务接口
+        assertEquals(greeterInterface, services.getMethod("greeter").getReturnType());
+        assertEquals(greeterInterface, services.getMethod("lazyGreeter").getReturnType());
+
+        Object first = call(services, "greeter");
+        assertNotSame(first, call(services, "greeter"));
+        assertEquals("yo bob", greeterInterface.getMethod("greet", String.class)
+                .invoke(call(services, "greeter", "yo "), "bob"));
+        assertEquals(3, created.getInt(null));
+
+        Object lazy = call(services, "lazyGreeter");
+        assertEquals(3, created.getInt(null));
+        // default 方法同样转发给真实实例
+        assertEquals("hi world", greeterInterface.getMethod("hello").invoke(lazy));
+        assertEquals("hi bob", greeterInterface.getMethod("greet", String.class).invoke(lazy, "bob"));
+        assertEquals(4, created.getInt(null));
+    }
+
+    @Test
+    public void singletonAccessorsShareOneInstance() throws Exception {
+        TestCompiler.Result result = compile(GREETER,
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/single\",\n"
+                        + "        scope = com.github.core.annotation.Service.Scope.SINGLETON)\n"
+                        + "public class SingleGreeter implements IGreeter {\n"
+                        + "    public static int created;\n"
+                        + "    public SingleGreeter() { created++; }\n"
+                        + "    public String greet(String name) { return name + created; }\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        ClassLoader loader = result.classLoader();
+        Class<?> services = loader.loadClass("com.github.xrouter.generated.TestServices");
+        Field created = loader.loadClass("demo.SingleGreeter").getField("created");
+
+        Object lazy = call(services, "lazyGreeter");
+        assertEquals(0, created.getInt(null));
+        Object instance = call(services, "greeter");
+        assertSame(instance, call(services, "greeter"));
+        assertEquals("a1", loader.loadClass("demo.IGreeter").getMethod("greet", String.class).invoke(lazy, "a"));
+        assertEquals(1, created.getInt(null));
+    }
+
+    @Test
+    public void routerScopedAccessorsTakeTheRouter() throws Exception {
+        TestCompiler.Result result = compile(GREETER,
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/scoped\",\n"
+                        + "        scope = com.github.core.annotation.Service.Scope.ROUTER)\n"
+                        + "public class ScopedGreeter implements IGreeter {\n"
+                        + "    public String greet(String name) { return name; }\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        ClassLoader loader = result.classLoader();
+        Class<?> services = loader.loadClass("com.github.xrouter.generated.TestServices");
+        Class<?> router = loader.loadClass("com.github.xrouter.Router");
+        assertNotNull(services.getMethod("greeter", router));
+        assertNotNull(services.getMethod("lazyGreeter", router));
+    }
+
+    @Test
+    public void servicesSharingAnInterfaceAreNamedAfterTheirClasses() throws Exception {
+        TestCompiler.Result result = compile(GREETER,
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/english\")\n"
+                        + "public class EnglishGreeter implements IGreeter {\n"
+                        + "    public String greet(String name) { return \"hello \" + name; }\n"
+                        + "}\n",
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/french\")\n"
+                        + "public class FrenchGreeter implements IGreeter {\n"
+                        + "    public String greet(String name) { return \"bonjour \" + name; }\n"
+                        + "}\n",
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/checked\")\n"
+                        + "public class CheckedService {\n"
+                        + "    public CheckedService() throws Exception {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        Class<?> services = result.classLoader().loadClass("com.github.xrouter.generated.TestServices");
+        // 构造函数声明受检异常的服务只能按路径获取
+        assertEquals(new TreeSet<>(Arrays.asList("englishGreeter", "frenchGreeter",
+                        "lazyEnglishGreeter", "lazyFrenchGreeter")),
+                methodNames(services));
+    }
+
+    @Test
+    public void skippedAccessorsAreReported() throws Exception {
+        TestCompiler.Result result = compile(
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/named\",\n"
+                        + "        scope = com.github.core.annotation.Service.Scope.SINGLETON)\n"
+                        + "public class NamedService {\n"
+                        + "    public NamedService(String name) {\n"
+                        + "    }\n"
+                        + "}\n",
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/checked\")\n"
+                        + "public class CheckedService {\n"
+                        + "    public CheckedService() throws Exception {\n"
+                        + "    }\n"
+                        + "}\n",
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/generic\")\n"
+                        + "public class GenericService<T> {\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        String warnings = String.join("\n", result.messages(Diagnostic.Kind.WARNING));
+        assertTrue(warnings, warnings.contains(
+                "No accessor generated for SINGLETON service '/demo/named' (demo.NamedService)"));
+        assertTrue(warnings, warnings.contains(
+                "No accessor generated for this constructor of service '/demo/checked'"));
+        assertTrue(warnings, warnings.contains(
+                "No accessor generated for generic service '/demo/generic' (demo.GenericService)"));
+    }
+
+    @Test
+    public void genericInterfacesKeepTheirTypeArguments() throws Exception {
+        TestCompiler.Result result = compile(
+                "package demo;\n"
+                        + "public interface Repository<T> {\n"
+                        + "    T find(String id);\n"
+                        + "    default java.util.List<T> findAll(String... ids) {\n"
+                        + "        java.util.List<T> all = new java.util.ArrayList<>();\n"
+                        + "        for (String id : ids) all.add(find(id));\n"
+                        + "        return all;\n"
+                        + "    }\n"
+                        + "}\n",
+                "package demo;\n"
+                        + "@com.github.core.annotation.Service(path = \"/demo/users\")\n"
+                        + "public class UserRepository implements Repository<String> {\n"
+                        + "    public String find(String id) { return \"user\" + id; }\n"
+                        + "}\n");
+        assertTrue(result.toString(), result.success);
+
+        ClassLoader loader = result.classLoader();
+        Class<?> services = loader.loadClass("com.github.xrouter.generated.TestServices");
+        assertEquals("demo.Repository<java.lang.String>",
+                services.getMethod("repository").getGenericReturnType().getTypeName());
+        assertEquals("demo.Repository<java.lang.String>",
+                services.getMethod("lazyRepository").getGenericReturnType().getTypeName());
+
+        Object lazy = call(services, "lazyRepository");
+        Method findAll = loader.loadClass("demo.Repository").getMethod("findAll", String[].class);
+        assertEquals(Arrays.asList("user1", "user2"), findAll.invoke(lazy, (Object) new String[]{"1", "2"}));
+    }
+}
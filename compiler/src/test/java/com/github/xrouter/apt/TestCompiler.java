@@ -0,0 +1,173 @@
+package com.github.xrouter.apt;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * 在测试进程内调用 javac 运行注解处理器，生成的代码会一并编译，编译产物可以直接加载运行。
+ * <p>
+ * xrouter 是 Android 库，这里用 {@link #RUNTIME_STUBS} 代替生成代码引用到的运行时类。
+ */
+final class TestCompiler {
+
+    static final String[] RUNTIME_STUBS = {
+            "package com.github.xrouter;\n"
+                    + "public interface Lazy<T> {\n"
+                    + "    T get();\n"
+                    + "    boolean isInitialized();\n"
+                    + "    static <T> Lazy<T> of(java.util.function.Supplier<? extends T> factory) {\n"
+                    + "        return new Lazy<T>() {\n"
+                    + "            T value;\n"
+                    + "            public T get() { return value != null ? value : (value = factory.get()); }\n"
+                    + "            public boolean isInitialized() { return value != null; }\n"
+                    + "        };\n"
+                    + "    }\n"
+                    + "}\n",
+            "package com.github.xrouter;\n"
+                    + "public final class ServiceSingleton<T> implements Lazy<T> {\n"
+                    + "    private final java.util.function.Supplier<? extends T> factory;\n"
+                    + "    private T instance;\n"
+                    + "    public ServiceSingleton(String path, java.util.function.Supplier<? extends T> factory) {\n"
+                    + "        this.factory = factory;\n"
+                    + "    }\n"
+                    + "    public T get() { return instance != null ? instance : (instance = factory.get()); }\n"
+                    + "    public boolean isInitialized() { return instance != null; }\n"
+                    + "}\n",
+            "package com.github.xrouter;\n"
+                    + "public class Router {\n"
+                    + "    public <T> T getService(String path) { return null; }\n"
+                    + "    public <T> Lazy<T> lazyService(String path) { return Lazy.of(() -> getService(path)); }\n"
+                    + "}\n",
+    };
+
+    private TestCompiler() {
+    }
+
+    static Result compile(List<String> options, List<Processor> processors, String... sources) throws IOException {
+        Path root = Files.createTempDirectory("xrouter-apt");
+        Path classes = Files.createDirectories(root.resolve("classes"));
+        Path generated = Files.createDirectories(root.resolve("generated"));
+
+        List<JavaFileObject> units = new ArrayList<>();
+        for (String source : sources) {
+            units.add(new SourceFile(source));
+        }
+        List<String> args = new ArrayList<>(options);
+        args.addAll(Arrays.asList("-classpath", System.getProperty("java.class.path"),
+                "-d", classes.toString(), "-s", generated.toString(), "-encoding", "UTF-8"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager =
+                     compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, args, null, units);
+            task.setProcessors(processors);
+            boolean success = task.call();
+            return new Result(success, diagnostics.getDiagnostics(), classes, generated);
+        }
+    }
+
+    static Result compile(List<Processor> processors, String... sources) throws IOException {
+        return compile(Collections.singletonList("-AmoduleName=test"), processors, sources);
+    }
+
+    static final class Result {
+        final boolean success;
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+        private final Path classes;
+        private final Path generated;
+
+        Result(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, Path classes, Path generated) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+            this.classes = classes;
+            this.generated = generated;
+        }
+
+        List<String> messages(Diagnostic.Kind kind) {
+            return diagnostics.stream()
+                    .filter(d -> d.getKind() == kind)
+                    .map(d -> d.getMessage(Locale.ROOT))
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * @param name 生成类的全限定名
+         */
+        String generatedSource(String name) throws IOException {
+            Path file = generated.resolve(name.replace('.', File.separatorChar) + ".java");
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        }
+
+        List<String> generatedSources() throws IOException {
+            try (Stream<Path> files = Files.walk(generated)) {
+                return files.filter(Files::isRegularFile)
+                        .map(file -> generated.relativize(file).toString())
+                        .sorted(Comparator.naturalOrder())
+                        .collect(Collectors.toList());
+            }
+        }
+
+        ClassLoader classLoader() throws IOException {
+            return new URLClassLoader(new URL[]{classes.toUri().toURL()}, TestCompiler.class.getClassLoader());
+        }
+
+        @Override
+        public String toString() {
+            return diagnostics.toString();
+        }
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String source) {
+            super(URI.create("string:///" + className(source).replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+
+        private static String className(String source) {
+            String packageName = "";
+            int packageStart = source.indexOf("package ");
+            if (packageStart >= 0) {
+                packageName = source.substring(packageStart + 8, source.indexOf(';', packageStart)).trim() + ".";
+            }
+            String[] tokens = source.split("[\\s{<]+");
+            for (int i = 0; i < tokens.length - 1; i++) {
+                if (tokens[i].equals("class") || tokens[i].equals("interface")
+                        || tokens[i].equals("enum") || tokens[i].equals("@interface")) {
+                    return packageName + tokens[i + 1];
+                }
+            }
+            throw new IllegalArgumentException("No type declared in source:\n" + source);
+        }
+    }
+}
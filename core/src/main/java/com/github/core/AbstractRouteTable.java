@@ -0,0 +1,56 @@
+package com.github.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * APT 生成的路由表的基类。
+ * <p>
+ * 构造时只根据路径字符串建立索引，不引用任何目标类；子类的 {@link #loadTarget(int)} 按下标返回类字面量，
+ * 打开一个页面只会加载这一个页面的类，分组内其它页面的类不会被加载和校验。
+ */
+public abstract class AbstractRouteTable implements RouteTable {
+    private final RouteMeta[] routes;
+    private final RouteTrie<RouteMeta> routeIndex;
+    private volatile Map<String, Class<?>> routeMap;
+
+    protected AbstractRouteTable(String... paths) {
+        routes = new RouteMeta[paths.length];
+        RouteTrie.Builder<RouteMeta> builder = RouteTrie.builder();
+        for (int i = 0; i < paths.length; i++) {
+            routes[i] = new RouteMeta(this, i, paths[i]);
+            builder.add(paths[i], routes[i]);
+        }
+        routeIndex = builder.build();
+    }
+
+    /**
+     * @param index 路由在构造参数中的下标
+     */
+    protected abstract Class<?> loadTarget(int index);
+
+    @Override
+    public RouteTrie<RouteMeta> getRouteIndex() {
+        return routeIndex;
+    }
+
+    @Override
+    public RouteMeta[] getRoutes() {
+        return routes.clone();
+    }
+
+    @Override
+    public Map<String, Class<?>> getRouteMap() {
+        Map<String, Class<?>> map = routeMap;
+        if (map == null) {
+            map = new HashMap<>(routes.length * 2);
+            for (RouteMeta route : routes) {
+                map.put(route.getPath(), route.getTarget());
+            }
+            map = Collections.unmodifiableMap(map);
+            routeMap = map;
+        }
+        return map;
+    }
+}
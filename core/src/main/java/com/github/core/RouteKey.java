@@ -0,0 +1,22 @@
+package com.github.core;
+
+/**
+ * 一个 {@link com.github.core.annotation.Route} 路由的分组和规范化之后的路径。
+ */
+public final class RouteKey {
+    private final String group;
+    private final String path;
+
+    public RouteKey(String group, String path) {
+        this.group = group;
+        this.path = path;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.core;
+
+/**
+ * 路由表中的一条路由，目标类在第一次使用时才加载，之后直接返回。
+ */
+public final class RouteMeta {
+    private final AbstractRouteTable table;
+    private final int index;
+    private final String path;
+    private volatile Class<?> target;
+
+    RouteMeta(AbstractRouteTable table, int index, String path) {
+        this.table = table;
+        this.index = index;
+        this.path = path;
+    }
+
+    RouteMeta(String path, Class<?> target) {
+        this(null, -1, path);
+        this.target = target;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Class<?> getTarget() {
+        Class<?> result = target;
+        if (result == null) {
+            // 并发时可能加载多次，得到的是同一个 Class，不需要加锁
+            result = table.loadTarget(index);
+            target = result;
+        }
+        return result;
+    }
+}
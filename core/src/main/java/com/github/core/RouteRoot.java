@@ -0,0 +1,10 @@
+package com.github.core;
+
+/**
+ * 每个模块由 APT 生成一个实现，记录本模块声明的分组，并按分组直接创建对应的 {@link RouteTable}。
+ */
+public interface RouteRoot {
+    String[] getGroups();
+
+    RouteTable createRouteTable(String group);
+}
@@ -2,6 +2,38 @@ package com.github.core;
 
 import java.util.Map;
 
+/**
+ * 一个分组的路由表，APT 生成的实现继承 {@link AbstractRouteTable}。
+ */
 public interface RouteTable {
+    /**
+     * 路径到目标类的映射，会加载分组内的全部目标类，跳转流程请使用 {@link #getRouteIndex()}。
+     */
     Map<String, Class<?>> getRouteMap();
+
+    /**
+     * 路由索引只保存路径，目标类在 {@link RouteMeta#getTarget()} 第一次调用时才加载。
+     * <p>
+     * 默认实现供旧版本 APT 生成的路由表使用，每次调用都会根据 {@link #getRoutes()} 重新构建，调用方需要自行缓存。
+     */
+    default RouteTrie<RouteMeta> getRouteIndex() {
+        RouteTrie.Builder<RouteMeta> builder = RouteTrie.builder();
+        for (RouteMeta route : getRoutes()) {
+            builder.add(route.getPath(), route);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 默认实现由 {@link #getRouteMap()} 转换而来，目标类已经全部加载。
+     */
+    default RouteMeta[] getRoutes() {
+        Map<String, Class<?>> routeMap = getRouteMap();
+        RouteMeta[] routes = new RouteMeta[routeMap.size()];
+        int i = 0;
+        for (Map.Entry<String, Class<?>> entry : routeMap.entrySet()) {
+            routes[i++] = new RouteMeta(entry.getKey(), entry.getValue());
+        }
+        return routes;
+    }
 }
@@ -0,0 +1,244 @@
+package com.github.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 按路径段组织的只读前缀树，由 APT 生成的路由表在类初始化时构建一次。
+ * <p>
+ * 查找时逐段下降，返回匹配段数最多的路由（最长前缀匹配），耗时只与路径段数有关，与路由数量无关，
+ * 匹配过程不会分配对象。路径中的空段会被忽略，{@code ?} 与 {@code #} 之后的内容不参与匹配。
+ * <p>
+ * 另外按规范化路径（见 {@link #normalize(String)}）保存一份哈希索引，规范化的路径精确命中时只需一次哈希查找。
+ */
+public final class RouteTrie<V> {
+    private final Node<V> root;
+    private final HashMap<String, V> exact;
+
+    private RouteTrie(Node<V> root, HashMap<String, V> exact) {
+        this.root = root;
+        this.exact = exact;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 精确匹配，路径段必须完全一致。
+     */
+    public V get(String path) {
+        if (isNormalized(path)) {
+            return exact.get(path);
+        }
+        Node<V> node = root;
+        int end = pathEnd(path);
+        int start = nextSegment(path, 0, end);
+        while (start < end) {
+            int segmentEnd = segmentEnd(path, start, end);
+            node = node.child(path, start, segmentEnd);
+            if (node == null) {
+                return null;
+            }
+            start = nextSegment(path, segmentEnd, end);
+        }
+        return node.value;
+    }
+
+    /**
+     * 最长前缀匹配，例如 {@code /user/detail/42} 会命中 {@code /user/detail}。
+     */
+    public V match(String path) {
+        if (isNormalized(path)) {
+            V value = exact.get(path);
+            if (value != null) {
+                return value;
+            }
+        }
+        Node<V> node = root;
+        V matched = node.value;
+        int end = pathEnd(path);
+        int start = nextSegment(path, 0, end);
+        while (start < end) {
+            int segmentEnd = segmentEnd(path, start, end);
+            node = node.child(path, start, segmentEnd);
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                matched = node.value;
+            }
+            start = nextSegment(path, segmentEnd, end);
+        }
+        return matched;
+    }
+
+    /**
+     * 转换为以 '/' 开头、段之间只有一个 '/'、结尾没有 '/' 的形式，去掉 {@code ?} 与 {@code #} 之后的内容。
+     * 规范化后相同的两个路径在路由表中是同一个路由。
+     */
+    public static String normalize(String path) {
+        List<String> segments = split(path);
+        if (segments.isEmpty()) {
+            return "/";
+        }
+        StringBuilder builder = new StringBuilder(path.length() + 1);
+        for (String segment : segments) {
+            builder.append('/').append(segment);
+        }
+        return builder.toString();
+    }
+
+    static boolean isNormalized(String path) {
+        int length = path.length();
+        if (length == 0 || path.charAt(0) != '/') {
+            return false;
+        }
+        if (length == 1) {
+            return true;
+        }
+        char previous = '/';
+        for (int i = 1; i < length; i++) {
+            char c = path.charAt(i);
+            if (c == '?' || c == '#' || (c == '/' && previous == '/')) {
+                return false;
+            }
+            previous = c;
+        }
+        return previous != '/';
+    }
+
+    static int pathEnd(String path) {
+        int length = path.length();
+        for (int i = 0; i < length; i++) {
+            char c = path.charAt(i);
+            if (c == '?' || c == '#') {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    static int nextSegment(String path, int from, int end) {
+        while (from < end && path.charAt(from) == '/') {
+            from++;
+        }
+        return from;
+    }
+
+    static int segmentEnd(String path, int start, int end) {
+        int i = start;
+        while (i < end && path.charAt(i) != '/') {
+            i++;
+        }
+        return i;
+    }
+
+    static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        int end = pathEnd(path);
+        int start = nextSegment(path, 0, end);
+        while (start < end) {
+            int segmentEnd = segmentEnd(path, start, end);
+            segments.add(path.substring(start, segmentEnd));
+            start = nextSegment(path, segmentEnd, end);
+        }
+        return segments;
+    }
+
+    private static final class Node<V> {
+        // 子节点按段名排序，查找时二分
+        final String[] segments;
+        final Node<V>[] children;
+        final V value;
+
+        Node(String[] segments, Node<V>[] children, V value) {
+            this.segments = segments;
+            this.children = children;
+            this.value = value;
+        }
+
+        Node<V> child(String path, int start, int end) {
+            int low = 0;
+            int high = segments.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(segments[mid], path, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        private static int compare(String segment, String path, int start, int end) {
+            int length = end - start;
+            int min = Math.min(segment.length(), length);
+            for (int i = 0; i < min; i++) {
+                char a = segment.charAt(i);
+                char b = path.charAt(start + i);
+                if (a != b) {
+                    return a - b;
+                }
+            }
+            return segment.length() - length;
+        }
+    }
+
+    public static final class Builder<V> {
+        private final MutableNode<V> root = new MutableNode<>();
+        private final HashMap<String, V> exact = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder<V> add(String path, V value) {
+            MutableNode<V> node = root;
+            for (String segment : split(path)) {
+                MutableNode<V> child = node.children.get(segment);
+                if (child == null) {
+                    child = new MutableNode<>();
+                    node.children.put(segment, child);
+                }
+                node = child;
+            }
+            node.value = value;
+            exact.put(normalize(path), value);
+            return this;
+        }
+
+        public RouteTrie<V> build() {
+            return new RouteTrie<>(root.freeze(), new HashMap<>(exact));
+        }
+    }
+
+    private static final class MutableNode<V> {
+        // TreeMap 的遍历顺序与 Node#compare 一致
+        final TreeMap<String, MutableNode<V>> children = new TreeMap<>();
+        V value;
+
+        Node<V> freeze() {
+            String[] segments = new String[children.size()];
+            Node<V>[] nodes = newNodeArray(children.size());
+            int i = 0;
+            for (Map.Entry<String, MutableNode<V>> entry : children.entrySet()) {
+                segments[i] = entry.getKey();
+                nodes[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node<>(segments, nodes, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] newNodeArray(int size) {
+            return (Node<V>[]) new Node<?>[size];
+        }
+    }
+}
@@ -1,6 +1,36 @@
 package com.github.core;
 
 
+import com.github.core.annotation.Service;
+
+/**
+ * 一个模块的服务提供者，APT 为每个模块生成一个实现。
+ * <p>
+ * 除了按参数创建实例的方法，其余方法都有默认实现，旧版本 APT 生成或手写的实现无需修改即可继续使用。
+ */
 public interface RouterService {
+    /**
+     * 提供者声明的全部服务路径，用于建立 路径 -> 提供者 的索引。
+     * <p>
+     * 默认返回空数组，这样的提供者不进入索引，获取服务时会被逐个尝试。
+     */
+    default String[] getServicePaths() {
+        return new String[0];
+    }
+
+    /**
+     * 默认每次获取都新建实例。
+     */
+    default Service.Scope getScope(String path) {
+        return Service.Scope.PROTOTYPE;
+    }
+
+    /**
+     * 使用无参构造函数创建实例，默认实现交给 {@link #newServiceInstance(String, Class[], Object...)}。
+     */
+    default <T> T newServiceInstance(String path) {
+        return newServiceInstance(path, null, (Object[]) null);
+    }
+
     <T> T newServiceInstance(String path, Class<?>[] parameterTypes, Object... initargs);
-}
\ No newline at end of file
+}
@@ -0,0 +1,568 @@
+package com.github.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * URI 模板匹配器，按 scheme -> host -> 路径段 组织成树，匹配时不使用正则。
+ * <p>
+ * 模板形如 {@code app://user/{id:int}/orders}：
+ * <ul>
+ *     <li>scheme 和 host 不区分大小写，写成 {@code *} 匹配任意值；省略 {@code scheme://host} 的模板（以 '/' 开头）匹配任意 scheme 和 host，
+ *     也匹配不带 scheme 的路径；</li>
+ *     <li>{@code {name}} 匹配一个路径段并作为字符串参数，{@code {name:int}}、{@code long}、{@code boolean}、{@code double}
+ *     会转换为对应类型，转换失败视为不匹配；</li>
+ *     <li>模板中 {@code ?} 之后的内容只作说明，不参与匹配，实际 URI 的查询参数全部按字符串取出。</li>
+ * </ul>
+ * 同一层中固定段优先于带类型的参数，带类型的参数优先于字符串参数，不匹配时回退尝试下一种。
+ */
+public final class UriMatcher<V> {
+    public static final String ANY = "*";
+
+    public static final int TYPE_STRING = 0;
+    public static final int TYPE_INT = 1;
+    public static final int TYPE_LONG = 2;
+    public static final int TYPE_BOOLEAN = 3;
+    public static final int TYPE_DOUBLE = 4;
+
+    private static final String[] TYPE_NAMES = {"string", "int", "long", "boolean", "double"};
+
+    // scheme -> host -> 路径根节点
+    private final HashMap<String, HashMap<String, Node<V>>> roots;
+
+    private UriMatcher(HashMap<String, HashMap<String, Node<V>>> roots) {
+        this.roots = roots;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return 匹配结果，没有模板匹配时返回 null
+     */
+    public Match<V> match(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        int length = uri.length();
+        int fragment = uri.indexOf('#');
+        int end = fragment >= 0 ? fragment : length;
+        int query = uri.indexOf('?');
+        if (query > end) {
+            query = -1;
+        }
+        int pathEnd = query >= 0 ? query : end;
+
+        String scheme = null;
+        String host = null;
+        int pathStart = 0;
+        int schemeEnd = schemeEnd(uri, pathEnd);
+        if (schemeEnd > 0) {
+            scheme = uri.substring(0, schemeEnd).toLowerCase(Locale.ROOT);
+            int hostStart = schemeEnd + 3;
+            int hostEnd = hostStart;
+            while (hostEnd < pathEnd && uri.charAt(hostEnd) != '/') {
+                hostEnd++;
+            }
+            host = uri.substring(hostStart, hostEnd).toLowerCase(Locale.ROOT);
+            pathStart = hostEnd;
+        }
+
+        Collector collector = new Collector();
+        Node<V> matched = null;
+        if (scheme != null) {
+            matched = matchRoot(roots.get(scheme), host, uri, pathStart, pathEnd, collector);
+        }
+        if (matched == null) {
+            matched = matchRoot(roots.get(ANY), host, uri, pathStart, pathEnd, collector);
+        }
+        if (matched == null) {
+            return null;
+        }
+        if (query >= 0) {
+            parseQuery(uri, query + 1, end, collector);
+        }
+        return new Match<>(matched.value, matched.pattern, collector);
+    }
+
+    private Node<V> matchRoot(HashMap<String, Node<V>> hosts, String host, String uri, int start, int end,
+                        Collector collector) {
+        if (hosts == null) {
+            return null;
+        }
+        Node<V> matched = null;
+        if (host != null) {
+            matched = matchNode(hosts.get(host), uri, start, end, collector);
+        }
+        if (matched == null) {
+            matched = matchNode(hosts.get(ANY), uri, start, end, collector);
+        }
+        return matched;
+    }
+
+    /**
+     * @return 匹配到的带值节点，没有匹配时返回 null
+     */
+    private Node<V> matchNode(Node<V> node, String uri, int start, int end, Collector collector) {
+        if (node == null) {
+            return null;
+        }
+        while (start < end && uri.charAt(start) == '/') {
+            start++;
+        }
+        if (start >= end) {
+            return node.value != null ? node : null;
+        }
+        int segmentEnd = start;
+        while (segmentEnd < end && uri.charAt(segmentEnd) != '/') {
+            segmentEnd++;
+        }
+        if (node.literals != null) {
+            Node<V> matched = matchNode(node.literals.get(uri.substring(start, segmentEnd)), uri, segmentEnd, end,
+                    collector);
+            if (matched != null) {
+                return matched;
+            }
+        }
+        if (node.params != null) {
+            String raw = decode(uri, start, segmentEnd, false);
+            for (ParamEdge<V> edge : node.params) {
+                Object converted = convert(raw, edge.type);
+                if (converted == null) {
+                    continue;
+                }
+                int mark = collector.pathCount;
+                collector.addPath(edge.name, converted);
+                Node<V> matched = matchNode(edge.child, uri, segmentEnd, end, collector);
+                if (matched != null) {
+                    return matched;
+                }
+                collector.pathCount = mark;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return scheme 结束的位置，即 "://" 的下标；不是合法的 scheme 时返回 -1
+     */
+    private static int schemeEnd(String uri, int end) {
+        for (int i = 0; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c == ':') {
+                return i > 0 && uri.startsWith("//", i + 1) ? i : -1;
+            }
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || (i > 0 && ((c >= '0' && c <= '9') || c == '+' || c == '-' || c == '.'));
+            if (!valid) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static void parseQuery(String uri, int start, int end, Collector collector) {
+        while (start < end) {
+            int pairEnd = uri.indexOf('&', start);
+            if (pairEnd < 0 || pairEnd > end) {
+                pairEnd = end;
+            }
+            if (pairEnd > start) {
+                int equals = uri.indexOf('=', start);
+                if (equals < 0 || equals > pairEnd) {
+                    collector.addQuery(decode(uri, start, pairEnd, true), "");
+                } else {
+                    collector.addQuery(decode(uri, start, equals, true), decode(uri, equals + 1, pairEnd, true));
+                }
+            }
+            start = pairEnd + 1;
+        }
+    }
+
+    private static Object convert(String value, int type) {
+        try {
+            switch (type) {
+                case TYPE_INT:
+                    return Integer.parseInt(value);
+                case TYPE_LONG:
+                    return Long.parseLong(value);
+                case TYPE_BOOLEAN:
+                    if ("true".equalsIgnoreCase(value)) {
+                        return Boolean.TRUE;
+                    }
+                    return "false".equalsIgnoreCase(value) ? Boolean.FALSE : null;
+                case TYPE_DOUBLE:
+                    return Double.parseDouble(value);
+                default:
+                    return value;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 百分号解码，按 UTF-8 还原多字节字符；没有需要解码的字符时直接截取子串。
+     */
+    static String decode(String s, int start, int end, boolean plusAsSpace) {
+        int i = start;
+        while (i < end) {
+            char c = s.charAt(i);
+            if (c == '%' || (plusAsSpace && c == '+')) {
+                break;
+            }
+            i++;
+        }
+        if (i == end) {
+            return s.substring(start, end);
+        }
+        StringBuilder builder = new StringBuilder(end - start);
+        builder.append(s, start, i);
+        byte[] bytes = null;
+        while (i < end) {
+            char c = s.charAt(i);
+            if (c == '%' && hexValue(s, i + 1, end) >= 0) {
+                if (bytes == null) {
+                    bytes = new byte[(end - i) / 3];
+                }
+                int count = 0;
+                while (i < end && s.charAt(i) == '%' && hexValue(s, i + 1, end) >= 0) {
+                    bytes[count++] = (byte) hexValue(s, i + 1, end);
+                    i += 3;
+                }
+                builder.append(new String(bytes, 0, count, StandardCharsets.UTF_8));
+            } else {
+                builder.append(plusAsSpace && c == '+' ? ' ' : c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return index 开始的两位十六进制数，不合法时返回 -1
+     */
+    private static int hexValue(String s, int index, int end) {
+        if (index + 1 >= end) {
+            return -1;
+        }
+        int high = Character.digit(s.charAt(index), 16);
+        int low = Character.digit(s.charAt(index + 1), 16);
+        return high < 0 || low < 0 ? -1 : (high << 4) | low;
+    }
+
+    /**
+     * 解析模板，格式不合法时抛出 IllegalArgumentException，注解处理器用它在编译期校验模板。
+     */
+    public static Template parse(String template) {
+        if (template == null || template.isEmpty()) {
+            throw new IllegalArgumentException("URI template must not be empty");
+        }
+        int query = template.indexOf('?');
+        int end = query >= 0 ? query : template.length();
+        String scheme = ANY;
+        String host = ANY;
+        int pathStart = 0;
+        int schemeEnd = template.indexOf("://");
+        if (schemeEnd >= 0 && schemeEnd < end) {
+            if (schemeEnd == 0) {
+                throw new IllegalArgumentException("Missing scheme in URI template: " + template);
+            }
+            scheme = template.substring(0, schemeEnd).toLowerCase(Locale.ROOT);
+            int hostStart = schemeEnd + 3;
+            int hostEnd = template.indexOf('/', hostStart);
+            if (hostEnd < 0 || hostEnd > end) {
+                hostEnd = end;
+            }
+            host = template.substring(hostStart, hostEnd).toLowerCase(Locale.ROOT);
+            if (host.isEmpty()) {
+                throw new IllegalArgumentException("Missing host in URI template: " + template);
+            }
+            if (host.indexOf('{') >= 0) {
+                throw new IllegalArgumentException("Host can not be a parameter: " + template);
+            }
+            pathStart = hostEnd;
+        } else if (!template.startsWith("/")) {
+            throw new IllegalArgumentException("URI template must start with 'scheme://host' or '/': " + template);
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        int start = pathStart;
+        while (start < end) {
+            while (start < end && template.charAt(start) == '/') {
+                start++;
+            }
+            if (start >= end) {
+                break;
+            }
+            int segmentEnd = template.indexOf('/', start);
+            if (segmentEnd < 0 || segmentEnd > end) {
+                segmentEnd = end;
+            }
+            String segment = template.substring(start, segmentEnd);
+            if (segment.startsWith("{")) {
+                if (!segment.endsWith("}") || segment.length() < 3) {
+                    throw new IllegalArgumentException("Malformed parameter '" + segment + "' in URI template: " + template);
+                }
+                String name = segment.substring(1, segment.length() - 1);
+                int type = TYPE_STRING;
+                int colon = name.indexOf(':');
+                if (colon >= 0) {
+                    type = Arrays.asList(TYPE_NAMES).indexOf(name.substring(colon + 1));
+                    if (type < 0) {
+                        throw new IllegalArgumentException("Unknown parameter type '" + name.substring(colon + 1)
+                                + "' in URI template: " + template);
+                    }
+                    name = name.substring(0, colon);
+                }
+                if (name.isEmpty() || names.contains(name)) {
+                    throw new IllegalArgumentException("Empty or repeated parameter name in URI template: " + template);
+                }
+                literals.add(null);
+                names.add(name);
+                types.add(type);
+            } else {
+                if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+                    throw new IllegalArgumentException("A parameter must be a whole path segment: " + template);
+                }
+                literals.add(segment);
+                names.add(null);
+                types.add(TYPE_STRING);
+            }
+            start = segmentEnd;
+        }
+        int size = literals.size();
+        int[] typeArray = new int[size];
+        for (int i = 0; i < size; i++) {
+            typeArray[i] = types.get(i);
+        }
+        return new Template(scheme, host, literals.toArray(new String[0]), names.toArray(new String[0]), typeArray);
+    }
+
+    /**
+     * 解析后的模板。
+     */
+    public static final class Template {
+        private final String scheme;
+        private final String host;
+        // 固定段为段名，参数段为 null
+        private final String[] literals;
+        private final String[] names;
+        private final int[] types;
+
+        Template(String scheme, String host, String[] literals, String[] names, int[] types) {
+            this.scheme = scheme;
+            this.host = host;
+            this.literals = literals;
+            this.names = names;
+            this.types = types;
+        }
+
+        /**
+         * 去掉参数名后的形式，两个模板的 pattern 相同时会匹配同样的 URI，注解处理器据此报告重复。
+         */
+        public String pattern() {
+            StringBuilder builder = new StringBuilder(scheme).append("://").append(host);
+            for (int i = 0; i < literals.length; i++) {
+                builder.append('/');
+                if (literals[i] != null) {
+                    builder.append(literals[i]);
+                } else {
+                    builder.append("{:").append(TYPE_NAMES[types[i]]).append('}');
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * 匹配结果，路径参数按模板中出现的顺序，查询参数按 URI 中出现的顺序。
+     */
+    public static final class Match<V> {
+        private final V value;
+        private final String pattern;
+        private final String[] pathNames;
+        private final Object[] pathValues;
+        private final int pathCount;
+        private final String[] queryNames;
+        private final String[] queryValues;
+        private final int queryCount;
+
+        Match(V value, String pattern, Collector collector) {
+            this.value = value;
+            this.pattern = pattern;
+            this.pathNames = collector.pathNames;
+            this.pathValues = collector.pathValues;
+            this.pathCount = collector.pathCount;
+            this.queryNames = collector.queryNames;
+            this.queryValues = collector.queryValues;
+            this.queryCount = collector.queryCount;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * @return 命中的模板去掉参数名后的形式，见 {@link Template#pattern()}；同一模板匹配的所有 URI 返回同一个字符串
+         */
+        public String getPattern() {
+            return pattern;
+        }
+
+        public int getPathParamCount() {
+            return pathCount;
+        }
+
+        public String getPathParamName(int index) {
+            return pathNames[index];
+        }
+
+        /**
+         * @return String、Integer、Long、Boolean 或 Double，取决于模板中声明的类型
+         */
+        public Object getPathParamValue(int index) {
+            return pathValues[index];
+        }
+
+        public int getQueryParamCount() {
+            return queryCount;
+        }
+
+        public String getQueryParamName(int index) {
+            return queryNames[index];
+        }
+
+        public String getQueryParamValue(int index) {
+            return queryValues[index];
+        }
+    }
+
+    private static final class Collector {
+        String[] pathNames = new String[4];
+        Object[] pathValues = new Object[4];
+        int pathCount;
+        String[] queryNames = new String[4];
+        String[] queryValues = new String[4];
+        int queryCount;
+
+        void addPath(String name, Object value) {
+            if (pathCount == pathNames.length) {
+                pathNames = Arrays.copyOf(pathNames, pathCount * 2);
+                pathValues = Arrays.copyOf(pathValues, pathCount * 2);
+            }
+            pathNames[pathCount] = name;
+            pathValues[pathCount] = value;
+            pathCount++;
+        }
+
+        void addQuery(String name, String value) {
+            if (queryCount == queryNames.length) {
+                queryNames = Arrays.copyOf(queryNames, queryCount * 2);
+                queryValues = Arrays.copyOf(queryValues, queryCount * 2);
+            }
+            queryNames[queryCount] = name;
+            queryValues[queryCount] = value;
+            queryCount++;
+        }
+    }
+
+    private static final class Node<V> {
+        HashMap<String, Node<V>> literals;
+        // 带类型的参数排在字符串参数之前
+        ParamEdge<V>[] params;
+        V value;
+        // 带值节点对应的模板 pattern
+        String pattern;
+
+        Node<V> literal(String segment) {
+            if (literals == null) {
+                literals = new HashMap<>();
+            }
+            return literals.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+        Node<V> param(String name, int type) {
+            if (params != null) {
+                for (ParamEdge<V> edge : params) {
+                    if (edge.type == type && edge.name.equals(name)) {
+                        return edge.child;
+                    }
+                }
+            }
+            ParamEdge<V> edge = new ParamEdge<>(name, type, new Node<>());
+            if (params == null) {
+                params = newEdgeArray(1);
+                params[0] = edge;
+            } else {
+                params = Arrays.copyOf(params, params.length + 1);
+                params[params.length - 1] = edge;
+                // 稳定排序，同一类型保持添加顺序
+                Arrays.sort(params, (a, b) -> Boolean.compare(a.type == TYPE_STRING, b.type == TYPE_STRING));
+            }
+            return edge.child;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> ParamEdge<V>[] newEdgeArray(int size) {
+            return (ParamEdge<V>[]) new ParamEdge<?>[size];
+        }
+    }
+
+    private static final class ParamEdge<V> {
+        final String name;
+        final int type;
+        final Node<V> child;
+
+        ParamEdge(String name, int type, Node<V> child) {
+            this.name = name;
+            this.type = type;
+            this.child = child;
+        }
+    }
+
+    public static final class Builder<V> {
+        private final HashMap<String, HashMap<String, Node<V>>> roots = new HashMap<>();
+        private boolean built;
+
+        private Builder() {
+        }
+
+        /**
+         * 后添加的相同模板覆盖先添加的。
+         *
+         * @throws IllegalArgumentException 模板格式不合法
+         */
+        public Builder<V> add(String template, V value) {
+            if (built) {
+                throw new IllegalStateException("UriMatcher already built");
+            }
+            Template parsed = parse(template);
+            Node<V> node = roots.computeIfAbsent(parsed.scheme, key -> new HashMap<>())
+                    .computeIfAbsent(parsed.host, key -> new Node<>());
+            for (int i = 0; i < parsed.literals.length; i++) {
+                node = parsed.literals[i] != null
+                        ? node.literal(parsed.literals[i])
+                        : node.param(parsed.names[i], parsed.types[i]);
+            }
+            node.value = value;
+            node.pattern = parsed.pattern();
+            return this;
+        }
+
+        /**
+         * 构建之后不能再添加模板，节点不再修改，可以在多个线程间共享。
+         */
+        public UriMatcher<V> build() {
+            built = true;
+            return new UriMatcher<>(roots);
+        }
+    }
+}
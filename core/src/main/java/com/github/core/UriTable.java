@@ -0,0 +1,17 @@
+package com.github.core;
+
+import java.util.Map;
+
+/**
+ * APT 为每个模块生成的 URI 路由表，把 {@link com.github.core.annotation.RouterUri} 声明的模板加入匹配器。
+ */
+public interface UriTable {
+    void loadInto(UriMatcher.Builder<Class<?>> builder);
+
+    /**
+     * 目标页面同时声明了 {@link com.github.core.annotation.Route} 时放入它的分组和路径，
+     * 按 URI 跳转时用来选择对这个路由生效的拦截器。旧版本生成的路由表没有实现这个方法。
+     */
+    default void loadRoutesInto(Map<Class<?>, RouteKey> routes) {
+    }
+}
@@ -6,6 +6,10 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * 通过 URI 模板打开页面，例如 {@code app://user/{id:int}/orders}，模板语法见 {@link com.github.core.UriMatcher}。
+ * 路径参数和查询参数会放入路由请求，可以用 {@link Autowired} 注入。
+ */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.CLASS)
 public @interface RouterUri {
@@ -9,4 +9,21 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.CLASS)
 public @interface Service {
     String path();
+
+    Scope scope() default Scope.PROTOTYPE;
+
+    enum Scope {
+        /**
+         * 进程内只创建一个实例。
+         */
+        SINGLETON,
+        /**
+         * 每个 Router 实例内只创建一个实例。
+         */
+        ROUTER,
+        /**
+         * 每次获取都创建新实例。
+         */
+        PROTOTYPE
+    }
 }
@@ -0,0 +1,78 @@
+package com.github.core;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 生成的路由表按需加载目标类；只实现 getRouteMap 的旧路由表通过默认方法得到同样的索引。
+ */
+public class RouteTableTest {
+
+    static final class First {
+    }
+
+    static final class Second {
+    }
+
+    private static final class CountingTable extends AbstractRouteTable {
+        final int[] loads = new int[2];
+
+        CountingTable() {
+            super("/demo/first", "/demo/second");
+        }
+
+        @Override
+        protected Class<?> loadTarget(int index) {
+            loads[index]++;
+            switch (index) {
+                case 0:
+                    return First.class;
+                case 1:
+                    return Second.class;
+                default:
+                    throw new IllegalArgumentException("Unknown route index: " + index);
+            }
+        }
+    }
+
+    @Test
+    public void targetsLoadOnFirstUse() {
+        CountingTable table = new CountingTable();
+        RouteMeta route = table.getRouteIndex().match("/demo/second/42");
+        assertEquals("/demo/second", route.getPath());
+        assertArrayEquals(new int[]{0, 0}, table.loads);
+
+        assertSame(Second.class, route.getTarget());
+        assertSame(Second.class, route.getTarget());
+        assertArrayEquals(new int[]{0, 1}, table.loads);
+    }
+
+    @Test
+    public void routeMapLoadsEveryTarget() {
+        CountingTable table = new CountingTable();
+        Map<String, Class<?>> map = table.getRouteMap();
+        assertSame(First.class, map.get("/demo/first"));
+        assertSame(Second.class, map.get("/demo/second"));
+        assertSame(map, table.getRouteMap());
+        assertArrayEquals(new int[]{1, 1}, table.loads);
+    }
+
+    @Test
+    public void legacyTableUsesDefaultIndex() {
+        Map<String, Class<?>> map = new HashMap<>();
+        map.put("/legacy/first", First.class);
+        map.put("/legacy/second", Second.class);
+        RouteTable legacy = () -> Collections.unmodifiableMap(map);
+
+        assertEquals(2, legacy.getRoutes().length);
+        RouteMeta route = legacy.getRouteIndex().match("/legacy/first/extra");
+        assertEquals("/legacy/first", route.getPath());
+        assertSame(First.class, route.getTarget());
+        assertNull(legacy.getRouteIndex().match("/other"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 前缀树的精确匹配、最长前缀匹配与路径规范化。
+ */
+public class RouteTrieTest {
+
+    private static RouteTrie<String> trie() {
+        return RouteTrie.<String>builder()
+                .add("/user", "user")
+                .add("/user/detail", "detail")
+                .add("/user/detail/edit", "edit")
+                .add("/order/list", "list")
+                .build();
+    }
+
+    @Test
+    public void exactMatch() {
+        RouteTrie<String> trie = trie();
+        assertEquals("detail", trie.get("/user/detail"));
+        assertEquals("edit", trie.get("/user/detail/edit"));
+        assertNull(trie.get("/user/detail/42"));
+        assertNull(trie.get("/order"));
+    }
+
+    @Test
+    public void exactMatchIgnoresRedundantSlashesAndQuery() {
+        RouteTrie<String> trie = trie();
+        assertEquals("detail", trie.get("user//detail/"));
+        assertEquals("detail", trie.get("/user/detail?id=1"));
+        assertEquals("detail", trie.get("/user/detail#top"));
+    }
+
+    @Test
+    public void longestPrefixMatch() {
+        RouteTrie<String> trie = trie();
+        assertEquals("detail", trie.match("/user/detail/42"));
+        assertEquals("edit", trie.match("/user/detail/edit/name?x=1"));
+        assertEquals("user", trie.match("/user/other"));
+        assertNull(trie.match("/order"));
+        assertNull(trie.match("/unknown/path"));
+    }
+
+    @Test
+    public void prefixMustMatchWholeSegments() {
+        RouteTrie<String> trie = trie();
+        assertNull(trie.match("/users"));
+        assertEquals("user", trie.match("/user/detailed"));
+    }
+
+    @Test
+    public void rootRoute() {
+        RouteTrie<String> trie = RouteTrie.<String>builder().add("/", "root").add("/a", "a").build();
+        assertEquals("root", trie.get("/"));
+        assertEquals("root", trie.match("/b/c"));
+        assertEquals("a", trie.match("/a/c"));
+    }
+
+    @Test
+    public void laterRegistrationReplacesNormalizedDuplicate() {
+        RouteTrie<String> trie = RouteTrie.<String>builder().add("/a/b", "first").add("a/b/", "second").build();
+        assertEquals("second", trie.get("/a/b"));
+        assertEquals("second", trie.match("/a/b/c"));
+    }
+
+    @Test
+    public void normalize() {
+        assertEquals("/", RouteTrie.normalize(""));
+        assertEquals("/", RouteTrie.normalize("//?q"));
+        assertEquals("/a/b", RouteTrie.normalize("a//b/"));
+        assertEquals("/a/b", RouteTrie.normalize("/a/b?x=1#y"));
+        assertTrue(RouteTrie.isNormalized("/a/b"));
+        assertFalse(RouteTrie.isNormalized("/a/b/"));
+        assertFalse(RouteTrie.isNormalized("/a//b"));
+        assertFalse(RouteTrie.isNormalized("a/b"));
+    }
+}
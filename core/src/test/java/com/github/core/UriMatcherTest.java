@@ -0,0 +1,115 @@
+package com.github.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * URI 模板的匹配优先级、参数提取与解码。
+ */
+public class UriMatcherTest {
+
+    private static UriMatcher<String> matcher() {
+        return UriMatcher.<String>builder()
+                .add("app://user/{id:int}", "userById")
+                .add("app://user/{name}", "userByName")
+                .add("app://user/me", "me")
+                .add("app://user/{id:int}/orders/{orderId:long}", "order")
+                .add("*://shop/item/{sku}", "anySchemeItem")
+                .add("/help/{topic}", "help")
+                .add("app://flags/{on:boolean}/{ratio:double}", "flags")
+                .build();
+    }
+
+    @Test
+    public void literalWinsOverTypedWinsOverString() {
+        UriMatcher<String> matcher = matcher();
+        assertEquals("me", matcher.match("app://user/me").getValue());
+        assertEquals("userById", matcher.match("app://user/42").getValue());
+        assertEquals("userByName", matcher.match("app://user/alice").getValue());
+    }
+
+    @Test
+    public void typedPathParamsAreConverted() {
+        UriMatcher.Match<String> match = matcher().match("app://user/7/orders/9000000000");
+        assertEquals("order", match.getValue());
+        assertEquals(2, match.getPathParamCount());
+        assertEquals("id", match.getPathParamName(0));
+        assertEquals(7, match.getPathParamValue(0));
+        assertEquals("orderId", match.getPathParamName(1));
+        assertEquals(9000000000L, match.getPathParamValue(1));
+
+        match = matcher().match("app://flags/TRUE/0.5");
+        assertEquals(Boolean.TRUE, match.getPathParamValue(0));
+        assertEquals(0.5, match.getPathParamValue(1));
+        assertNull(matcher().match("app://flags/yes/0.5"));
+    }
+
+    @Test
+    public void failedBranchDoesNotLeakCaptures() {
+        // 先尝试 {id:int}，后续段不匹配时回退到 {name}，不能残留 id
+        UriMatcher<String> matcher = UriMatcher.<String>builder()
+                .add("app://user/{id:int}/orders", "orders")
+                .add("app://user/{name}/profile", "profile")
+                .build();
+        UriMatcher.Match<String> match = matcher.match("app://user/42/profile");
+        assertEquals("profile", match.getValue());
+        assertEquals(1, match.getPathParamCount());
+        assertEquals("name", match.getPathParamName(0));
+        assertEquals("42", match.getPathParamValue(0));
+    }
+
+    @Test
+    public void queryParamsAreDecodedInOrder() {
+        UriMatcher.Match<String> match = matcher().match("APP://User/me?a=1&b=x+y&c=%E4%BD%A0&flag#frag");
+        assertEquals("me", match.getValue());
+        assertEquals(4, match.getQueryParamCount());
+        assertEquals("a", match.getQueryParamName(0));
+        assertEquals("1", match.getQueryParamValue(0));
+        assertEquals("x y", match.getQueryParamValue(1));
+        assertEquals("你", match.getQueryParamValue(2));
+        assertEquals("flag", match.getQueryParamName(3));
+        assertEquals("", match.getQueryParamValue(3));
+    }
+
+    @Test
+    public void pathParamsArePercentDecoded() {
+        UriMatcher.Match<String> match = matcher().match("app://user/a%20b");
+        assertEquals("userByName", match.getValue());
+        assertEquals("a b", match.getPathParamValue(0));
+    }
+
+    @Test
+    public void wildcardsAndSchemelessTemplates() {
+        UriMatcher<String> matcher = matcher();
+        assertEquals("anySchemeItem", matcher.match("https://shop/item/1").getValue());
+        assertEquals("help", matcher.match("/help/faq").getValue());
+        assertEquals("help", matcher.match("web://any/help/faq").getValue());
+        assertNull(matcher.match("app://shop/other/1"));
+        assertNull(matcher.match("app://user"));
+        assertNull(matcher.match(null));
+    }
+
+    @Test
+    public void patternIsSharedByAllUrisOfATemplate() {
+        UriMatcher<String> matcher = matcher();
+        String pattern = matcher.match("app://user/1").getPattern();
+        assertEquals("app://user/{:int}", pattern);
+        assertEquals(pattern, matcher.match("app://user/2?x=1").getPattern());
+        assertEquals(UriMatcher.parse("app://user/{id:int}").pattern(), pattern);
+    }
+
+    @Test
+    public void invalidTemplatesAreRejected() {
+        String[] invalid = {"", "user/{id}", "://host/a", "app:///a", "app://{host}/a",
+                "app://h/{id:float}", "app://h/{id}/{id}", "app://h/a{id}", "app://h/{}"};
+        for (String template : invalid) {
+            try {
+                UriMatcher.parse(template);
+                fail("Expected IllegalArgumentException for " + template);
+            } catch (IllegalArgumentException expected) {
+                // 预期的异常
+            }
+        }
+    }
+}
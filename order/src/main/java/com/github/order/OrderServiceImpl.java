@@ -5,7 +5,7 @@ import android.util.Log;
 import com.github.core.annotation.Service;
 import com.github.provider.OrderService;
 
-@Service(path = "/order/order")
+@Service(path = "/order/order", scope = Service.Scope.SINGLETON)
 public class OrderServiceImpl implements OrderService {
     @Override
     public void showOrder() {
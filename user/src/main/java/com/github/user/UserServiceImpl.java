@@ -5,7 +5,7 @@ import android.util.Log;
 import com.github.core.annotation.Service;
 import com.github.provider.UserService;
 
-@Service(path = "/user/user")
+@Service(path = "/user/user", scope = Service.Scope.SINGLETON)
 public class UserServiceImpl implements UserService {
     @Override
     public void showUser() {
@@ -0,0 +1,182 @@
+package com.github.xrouter.plugin;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 收集注解处理器生成的 RouteRoot / RouterService / UriTable 实现，并生成 {@code com.github.xrouter.GeneratedRegistry}。
+ * 同时汇总各模块的路由清单，检查跨模块重复声明或前缀重叠的路由。
+ */
+final class RegistryGenerator {
+    static final String REGISTRY_CLASS = "com/github/xrouter/GeneratedRegistry";
+    // 注解处理器把路由表和服务统一生成在这个包下，只需要检查这里的类
+    private static final String GENERATED_PACKAGE = "com/github/xrouter/generated/";
+    private static final String ROUTE_ROOT = "com/github/core/RouteRoot";
+    private static final String ROUTER_SERVICE = "com/github/core/RouterService";
+    private static final String URI_TABLE = "com/github/core/UriTable";
+    private static final String ROUTE_MANIFEST_DIR = "META-INF/xrouter/";
+    private static final String ROUTE_MANIFEST_SUFFIX = ".routes";
+
+    // 排序保证同样的输入生成同样的 class，构建结果可以复用缓存
+    private final Set<String> routeRoots = new TreeSet<>();
+    private final Set<String> routerServices = new TreeSet<>();
+    private final Set<String> uriTables = new TreeSet<>();
+    // 分组 -> 路径 -> 声明这个路由的类和清单
+    private final Map<String, TreeMap<String, Declaration>> routes = new HashMap<>();
+    private final List<String> conflicts = new ArrayList<>();
+
+    void inspect(String entryName, byte[] bytes) {
+        if (entryName.startsWith(ROUTE_MANIFEST_DIR) && entryName.endsWith(ROUTE_MANIFEST_SUFFIX)) {
+            inspectRouteManifest(entryName, new String(bytes, StandardCharsets.UTF_8));
+            return;
+        }
+        if (!entryName.startsWith(GENERATED_PACKAGE) || !entryName.endsWith(".class")) {
+            return;
+        }
+        ClassReader reader = new ClassReader(bytes);
+        int access = reader.getAccess();
+        if ((access & Opcodes.ACC_PUBLIC) == 0
+                || (access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE)) != 0) {
+            return;
+        }
+        for (String type : reader.getInterfaces()) {
+            if (ROUTE_ROOT.equals(type)) {
+                routeRoots.add(reader.getClassName());
+            } else if (ROUTER_SERVICE.equals(type)) {
+                routerServices.add(reader.getClassName());
+            } else if (URI_TABLE.equals(type)) {
+                uriTables.add(reader.getClassName());
+            }
+        }
+    }
+
+    /**
+     * 清单每行为 "分组\t规范化路径\t类名"，路径已经在编译期规范化，可以直接比较。
+     */
+    private void inspectRouteManifest(String entryName, String content) {
+        for (String line : content.split("\n")) {
+            String[] fields = line.split("\t");
+            if (fields.length != 3) {
+                continue;
+            }
+            Declaration declaration = new Declaration(fields[2], entryName);
+            Declaration previous = routes.computeIfAbsent(fields[0], key -> new TreeMap<>())
+                    .putIfAbsent(fields[1], declaration);
+            if (previous != null && !previous.className.equals(declaration.className)) {
+                conflicts.add("Route '" + fields[1] + "' in group '" + fields[0] + "' is declared by both "
+                        + previous + " and " + declaration);
+            }
+        }
+    }
+
+    /**
+     * @return 跨模块重复声明的路由，为空表示没有冲突
+     */
+    List<String> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * 与注解处理器相同的重叠检查：一个路由是另一个模块中路由的路径段前缀，更深的路径会按最长前缀命中。
+     * 同一清单内的重叠已经在编译期检查过，这里不再报告。全部清单读取完成后调用。
+     */
+    List<String> getOverlaps() {
+        List<String> overlaps = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<String, Declaration>> group : routes.entrySet()) {
+            TreeMap<String, Declaration> paths = group.getValue();
+            for (Map.Entry<String, Declaration> route : paths.entrySet()) {
+                String path = route.getKey();
+                // 根路径 "/" 是所有路由的前缀，不报告
+                for (int slash = path.lastIndexOf('/'); slash > 0; slash = path.lastIndexOf('/', slash - 1)) {
+                    String prefix = path.substring(0, slash);
+                    Declaration prefixDeclaration = paths.get(prefix);
+                    if (prefixDeclaration != null && !prefixDeclaration.manifest.equals(route.getValue().manifest)) {
+                        overlaps.add("Route '" + prefix + "' " + prefixDeclaration + " is a prefix of '" + path
+                                + "' " + route.getValue() + " in group '" + group.getKey() + "'");
+                    }
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    int getRouteRootCount() {
+        return routeRoots.size();
+    }
+
+    int getRouterServiceCount() {
+        return routerServices.size();
+    }
+
+    int getUriTableCount() {
+        return uriTables.size();
+    }
+
+    byte[] generate() {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, REGISTRY_CLASS, null,
+                "java/lang/Object", null);
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PRIVATE, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        generateArrayMethod(writer, "getRouteRoots", ROUTE_ROOT, routeRoots);
+        generateArrayMethod(writer, "getRouterServices", ROUTER_SERVICE, routerServices);
+        generateArrayMethod(writer, "getUriTables", URI_TABLE, uriTables);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * static T[] name() { return new T[]{new A(), new B(), ...}; }
+     */
+    private static void generateArrayMethod(ClassWriter writer, String name, String type, Set<String> classes) {
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_STATIC, name, "()[L" + type + ";", null, null);
+        method.visitCode();
+        method.visitLdcInsn(classes.size());
+        method.visitTypeInsn(Opcodes.ANEWARRAY, type);
+        int index = 0;
+        for (String className : classes) {
+            method.visitInsn(Opcodes.DUP);
+            method.visitLdcInsn(index++);
+            method.visitTypeInsn(Opcodes.NEW, className);
+            method.visitInsn(Opcodes.DUP);
+            method.visitMethodInsn(Opcodes.INVOKESPECIAL, className, "<init>", "()V", false);
+            method.visitInsn(Opcodes.AASTORE);
+        }
+        method.visitInsn(Opcodes.ARETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private static final class Declaration {
+        final String className;
+        final String manifest;
+
+        Declaration(String className, String manifest) {
+            this.className = className;
+            this.manifest = manifest;
+        }
+
+        @Override
+        public String toString() {
+            return className + " (" + manifest + ")";
+        }
+    }
+}
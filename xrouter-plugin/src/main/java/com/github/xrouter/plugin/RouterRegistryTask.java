@@ -0,0 +1,122 @@
+package com.github.xrouter.plugin;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 把全部 class 合并到一个 jar，同时收集生成的 RouteRoot / RouterService 实现，并替换 xrouter 中的注册表类。
+ */
+public abstract class RouterRegistryTask extends DefaultTask {
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ListProperty<RegularFile> getAllJars();
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ListProperty<Directory> getAllDirectories();
+
+    @Input
+    public abstract Property<Boolean> getAllowRouteOverlap();
+
+    @OutputFile
+    public abstract RegularFileProperty getOutput();
+
+    @TaskAction
+    public void transform() throws IOException {
+        RegistryGenerator generator = new RegistryGenerator();
+        Set<String> entries = new HashSet<>();
+        File output = getOutput().get().getAsFile();
+        try (JarOutputStream out = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(output)))) {
+            for (Directory directory : getAllDirectories().get()) {
+                Path root = directory.getAsFile().toPath();
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(root)) {
+                    files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                }
+                for (Path file : files) {
+                    String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+                    write(out, entries, generator, name, Files.readAllBytes(file));
+                }
+            }
+            for (RegularFile jar : getAllJars().get()) {
+                try (JarFile jarFile = new JarFile(jar.getAsFile())) {
+                    Enumeration<JarEntry> jarEntries = jarFile.entries();
+                    while (jarEntries.hasMoreElements()) {
+                        JarEntry entry = jarEntries.nextElement();
+                        if (entry.isDirectory()) {
+                            continue;
+                        }
+                        try (InputStream in = jarFile.getInputStream(entry)) {
+                            write(out, entries, generator, entry.getName(), in.readAllBytes());
+                        }
+                    }
+                }
+            }
+            List<String> conflicts = generator.getConflicts();
+            if (!conflicts.isEmpty()) {
+                throw new GradleException("XRouter found duplicate routes across modules:\n  "
+                        + String.join("\n  ", conflicts));
+            }
+            List<String> overlaps = generator.getOverlaps();
+            if (!overlaps.isEmpty()) {
+                if (!getAllowRouteOverlap().get()) {
+                    throw new GradleException("XRouter found overlapping routes across modules"
+                            + " (set xrouter.allowRouteOverlap = true to allow):\n  " + String.join("\n  ", overlaps));
+                }
+                for (String overlap : overlaps) {
+                    getLogger().warn("XRouter: {}", overlap);
+                }
+            }
+            out.putNextEntry(new JarEntry(RegistryGenerator.REGISTRY_CLASS + ".class"));
+            out.write(generator.generate());
+            out.closeEntry();
+        }
+        getLogger().info("XRouter registry: {} route roots, {} router services, {} uri tables",
+                generator.getRouteRootCount(), generator.getRouterServiceCount(), generator.getUriTableCount());
+    }
+
+    private void write(JarOutputStream out, Set<String> entries, RegistryGenerator generator,
+                       String name, byte[] bytes) throws IOException {
+        if (name.equals(RegistryGenerator.REGISTRY_CLASS + ".class")) {
+            // 用生成的注册表替换 xrouter 中的默认实现
+            return;
+        }
+        if (!entries.add(name)) {
+            getLogger().info("XRouter registry: skip duplicate entry {}", name);
+            return;
+        }
+        generator.inspect(name, bytes);
+        out.putNextEntry(new JarEntry(name));
+        out.write(bytes);
+        out.closeEntry();
+    }
+}
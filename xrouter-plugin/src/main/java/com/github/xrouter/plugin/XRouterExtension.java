@@ -0,0 +1,14 @@
+package com.github.xrouter.plugin;
+
+import org.gradle.api.provider.Property;
+
+/**
+ * 应用模块中的 {@code xrouter { }} 配置。
+ */
+public abstract class XRouterExtension {
+
+    /**
+     * 为 true 时跨模块前缀重叠的路由只输出警告，默认让构建失败，与注解处理器的 allowRouteOverlap 选项对应。
+     */
+    public abstract Property<Boolean> getAllowRouteOverlap();
+}
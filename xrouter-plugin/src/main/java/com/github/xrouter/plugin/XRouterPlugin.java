@@ -0,0 +1,40 @@
+package com.github.xrouter.plugin;
+
+import com.android.build.api.artifact.ScopedArtifact;
+import com.android.build.api.variant.ApplicationAndroidComponentsExtension;
+import com.android.build.api.variant.ScopedArtifacts;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * 在应用模块编译完成后扫描全部模块的 class，生成直接创建各模块 RouteRoot、RouterService 和 UriTable 的注册表，
+ * 运行时不再通过 ServiceLoader 发现路由和服务。
+ */
+public class XRouterPlugin implements Plugin<Project> {
+
+    @Override
+    public void apply(Project project) {
+        XRouterExtension extension = project.getExtensions().create("xrouter", XRouterExtension.class);
+        extension.getAllowRouteOverlap().convention(false);
+        project.getPlugins().withId("com.android.application", plugin -> {
+            ApplicationAndroidComponentsExtension components =
+                    project.getExtensions().getByType(ApplicationAndroidComponentsExtension.class);
+            components.onVariants(components.selector().all(), variant -> {
+                String name = variant.getName();
+                TaskProvider<RouterRegistryTask> task = project.getTasks().register(
+                        "transform" + Character.toUpperCase(name.charAt(0)) + name.substring(1) + "XRouterRegistry",
+                        RouterRegistryTask.class,
+                        registryTask -> registryTask.getAllowRouteOverlap().set(extension.getAllowRouteOverlap()));
+                variant.getArtifacts()
+                        .forScope(ScopedArtifacts.Scope.ALL)
+                        .use(task)
+                        .toTransform(ScopedArtifact.CLASSES.INSTANCE,
+                                RouterRegistryTask::getAllJars,
+                                RouterRegistryTask::getAllDirectories,
+                                RouterRegistryTask::getOutput);
+            });
+        });
+    }
+}
@@ -0,0 +1,5 @@
+# 生成的参数注入类通过 <Target>$$Injector 类名查找
+-keepnames class * implements com.github.xrouter.utils.Injector
+-keepclassmembers class * implements com.github.xrouter.utils.Injector {
+    public <init>();
+}
@@ -0,0 +1,42 @@
+package com.github.xrouter;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+/**
+ * 在 Activity 的 onCreate 中自动注入 {@link com.github.core.annotation.Autowired} 字段。
+ * <p>
+ * 回调在 {@code super.onCreate()} 内执行，子类 onCreate 中 super 之后的代码可以直接使用注入的字段。
+ */
+final class AutoInjector implements Application.ActivityLifecycleCallbacks {
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        Router.inject(activity);
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.xrouter;
+
+final class CompositeNavigationListener implements NavigationListener {
+    private final NavigationListener[] listeners;
+
+    CompositeNavigationListener(NavigationListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void onPhaseStart(RouteRequest request, Phase phase) {
+        for (NavigationListener listener : listeners) {
+            listener.onPhaseStart(request, phase);
+        }
+    }
+
+    @Override
+    public void onPhaseEnd(RouteRequest request, Phase phase, long durationNanos) {
+        // 倒序结束，保证嵌套的 Trace 段成对出现
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            listeners[i].onPhaseEnd(request, phase, durationNanos);
+        }
+    }
+
+    @Override
+    public void onRouteCacheLookup(RouteRequest request, boolean hit) {
+        for (NavigationListener listener : listeners) {
+            listener.onRouteCacheLookup(request, hit);
+        }
+    }
+
+    @Override
+    public void onNavigationEnd(RouteRequest request, Result result, long durationNanos) {
+        for (NavigationListener listener : listeners) {
+            listener.onNavigationEnd(request, result, durationNanos);
+        }
+    }
+}
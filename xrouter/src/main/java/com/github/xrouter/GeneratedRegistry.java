@@ -0,0 +1,29 @@
+package com.github.xrouter;
+
+import com.github.core.RouteRoot;
+import com.github.core.RouterService;
+import com.github.core.UriTable;
+
+/**
+ * 构建期注册表。
+ * <p>
+ * 应用模块使用 com.github.xrouter.registry 插件时，这个类会在编译后被替换为直接创建各模块 RouteRoot、RouterService 和 UriTable 的实现，
+ * 启动时不再解析 META-INF/services。这里的默认实现返回 null，表示回退到 ServiceLoader。
+ */
+final class GeneratedRegistry {
+
+    private GeneratedRegistry() {
+    }
+
+    static RouteRoot[] getRouteRoots() {
+        return null;
+    }
+
+    static RouterService[] getRouterServices() {
+        return null;
+    }
+
+    static UriTable[] getUriTables() {
+        return null;
+    }
+}
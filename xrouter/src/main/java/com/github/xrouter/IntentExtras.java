@@ -0,0 +1,167 @@
+package com.github.xrouter;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Parcelable;
+
+import com.github.xrouter.utils.ParamCodec;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 把 {@link RouteParams} 写入 Intent extras。
+ * <p>
+ * 写入方式按 {@link ParamCodec} 的类型标记查表得到，每个参数只需一次数组下标访问，覆盖 Bundle 支持的全部类型。
+ * 只有 List 例外，需要检查每个元素的类型才能选择写入方式。
+ */
+final class IntentExtras {
+    private static final Logger LOGGER = Logger.getLogger(IntentExtras.class.getName());
+    private static final ExtraWriter[] WRITERS = new ExtraWriter[ParamCodec.TYPE_JSON + 1];
+    static final int LIST_MIXED = 0;
+    static final int LIST_STRING = 1;
+    static final int LIST_INTEGER = 2;
+    static final int LIST_PARCELABLE = 3;
+    static final int LIST_CHAR_SEQUENCE = 4;
+
+    static {
+        WRITERS[ParamCodec.TYPE_NULL] = (intent, key, params, index) -> {
+            // 与之前的行为保持一致，空值不写入
+        };
+        WRITERS[ParamCodec.TYPE_STRING] = (intent, key, params, index) ->
+                intent.putExtra(key, (String) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_INT] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getIntAt(index));
+        WRITERS[ParamCodec.TYPE_LONG] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getLongAt(index));
+        WRITERS[ParamCodec.TYPE_BOOLEAN] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getBooleanAt(index));
+        WRITERS[ParamCodec.TYPE_DOUBLE] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getDoubleAt(index));
+        WRITERS[ParamCodec.TYPE_FLOAT] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getFloatAt(index));
+        WRITERS[ParamCodec.TYPE_SHORT] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getShortAt(index));
+        WRITERS[ParamCodec.TYPE_BYTE] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getByteAt(index));
+        WRITERS[ParamCodec.TYPE_CHAR] = (intent, key, params, index) ->
+                intent.putExtra(key, params.getCharAt(index));
+        WRITERS[ParamCodec.TYPE_CHAR_SEQUENCE] = (intent, key, params, index) ->
+                intent.putExtra(key, (CharSequence) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_BUNDLE] = (intent, key, params, index) ->
+                intent.putExtra(key, (Bundle) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_PARCELABLE] = (intent, key, params, index) ->
+                intent.putExtra(key, (Parcelable) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_SERIALIZABLE] = (intent, key, params, index) ->
+                intent.putExtra(key, (Serializable) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_INT_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (int[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_LONG_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (long[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_BOOLEAN_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (boolean[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_DOUBLE_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (double[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_FLOAT_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (float[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_BYTE_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (byte[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_CHAR_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (char[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_STRING_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (String[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_CHAR_SEQUENCE_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (CharSequence[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_PARCELABLE_ARRAY] = (intent, key, params, index) ->
+                intent.putExtra(key, (Parcelable[]) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_LIST] = (intent, key, params, index) ->
+                putList(intent, key, (List<?>) params.valueAt(index));
+        WRITERS[ParamCodec.TYPE_JSON] = (intent, key, params, index) ->
+                LOGGER.log(Level.WARNING, "Route param " + key + " is not supported by Intent extras: "
+                        + params.valueAt(index).getClass().getName());
+    }
+
+    private IntentExtras() {
+    }
+
+    static void putExtras(Intent intent, RouteParams params) {
+        for (int i = 0; i < params.size(); i++) {
+            int type = params.typeAt(i);
+            if (type == ParamCodec.TYPE_UNSUPPORTED) {
+                // 放入参数时 JSON 兜底未开启，Intent 同样无法携带
+                WRITERS[ParamCodec.TYPE_JSON].put(intent, params.keyAt(i), params, i);
+            } else {
+                WRITERS[type].put(intent, params.keyAt(i), params, i);
+            }
+        }
+    }
+
+    /**
+     * ArrayList 的全部元素属于同一种类型时选择对应的 putXxxArrayListExtra，元素类型混杂或其它 List 实现按 Serializable 写入。
+     */
+    @SuppressWarnings("unchecked")
+    private static void putList(Intent intent, String key, List<?> list) {
+        if (list instanceof ArrayList) {
+            switch (arrayListType(list)) {
+                case LIST_STRING:
+                    intent.putStringArrayListExtra(key, (ArrayList<String>) list);
+                    return;
+                case LIST_INTEGER:
+                    intent.putIntegerArrayListExtra(key, (ArrayList<Integer>) list);
+                    return;
+                case LIST_PARCELABLE:
+                    intent.putParcelableArrayListExtra(key, (ArrayList<Parcelable>) list);
+                    return;
+                case LIST_CHAR_SEQUENCE:
+                    intent.putCharSequenceArrayListExtra(key, (ArrayList<CharSequence>) list);
+                    return;
+                default:
+                    break;
+            }
+        }
+        if (list instanceof Serializable) {
+            intent.putExtra(key, (Serializable) list);
+        } else {
+            LOGGER.log(Level.WARNING, "Route param " + key + " is not supported by Intent extras: "
+                    + list.getClass().getName());
+        }
+    }
+
+    /**
+     * 检查每一个元素，只看第一个元素时 [String, Integer] 会按 String 列表写入，读取时抛出 ClassCastException。
+     * 空列表或只有 null 时按 String 列表处理。
+     */
+    static int arrayListType(List<?> list) {
+        boolean strings = true;
+        boolean integers = true;
+        boolean parcelables = true;
+        boolean charSequences = true;
+        for (int i = 0, size = list.size(); i < size; i++) {
+            Object item = list.get(i);
+            if (item == null) {
+                continue;
+            }
+            strings &= item instanceof String;
+            integers &= item instanceof Integer;
+            parcelables &= item instanceof Parcelable;
+            charSequences &= item instanceof CharSequence;
+            if (!strings && !integers && !parcelables && !charSequences) {
+                return LIST_MIXED;
+            }
+        }
+        if (strings) {
+            return LIST_STRING;
+        }
+        if (integers) {
+            return LIST_INTEGER;
+        }
+        return parcelables ? LIST_PARCELABLE : LIST_CHAR_SEQUENCE;
+    }
+
+    private interface ExtraWriter {
+        void put(Intent intent, String key, RouteParams params, int index);
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.xrouter;
+
+import com.github.xrouter.interceptor.AsyncRouteInterceptor;
+import com.github.xrouter.interceptor.InterceptorCallback;
+import com.github.xrouter.interceptor.RouteInterceptor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 按顺序执行一次跳转的拦截器链。
+ * 同步跳转在调用线程上直接执行，不等待；异步跳转把每个拦截器派发到线程池，调用线程等待回调或超时。
+ */
+final class InterceptorChain {
+    // 防止拦截器之间互相改道形成死循环
+    private static final int MAX_REROUTES = 8;
+
+    private RouteRequest request;
+    private Throwable reason;
+
+    InterceptorChain(RouteRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * @param interceptors 当前请求的拦截器链，改道之后通过 chainFor 获取新请求的拦截器链
+     * @param executor     为 null 时在调用线程上执行，异步拦截器必须在 intercept 返回之前回调，否则中断跳转；
+     *                     不为 null 时拦截器在 executor 上执行，在 intercept 中阻塞同样会超时
+     * @return true 表示全部拦截器放行，最终请求见 {@link #getRequest()}；false 表示被中断，原因见 {@link #getReason()}
+     */
+    boolean proceed(AsyncRouteInterceptor[] interceptors, Function<RouteRequest, AsyncRouteInterceptor[]> chainFor,
+                    Executor executor) {
+        int reroutes = 0;
+        int index = 0;
+        while (index < interceptors.length) {
+            AsyncRouteInterceptor interceptor = interceptors[index];
+            Callback callback = executor == null
+                    ? interceptInline(interceptor, request)
+                    : interceptOn(executor, interceptor, request);
+            switch (callback.action) {
+                case Callback.CONTINUE:
+                    if (callback.request != null) {
+                        request = callback.request;
+                    }
+                    index++;
+                    break;
+                case Callback.REROUTE:
+                    if (++reroutes > MAX_REROUTES) {
+                        reason = new IllegalStateException("Too many reroutes, last path: "
+                                + callback.request.getPath());
+                        return false;
+                    }
+                    request = callback.request;
+                    interceptors = chainFor.apply(request);
+                    index = 0;
+                    break;
+                default:
+                    reason = callback.reason;
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    RouteRequest getRequest() {
+        return request;
+    }
+
+    Throwable getReason() {
+        return reason;
+    }
+
+    private static Callback interceptInline(AsyncRouteInterceptor interceptor, RouteRequest request) {
+        if (interceptor instanceof SyncInterceptorAdapter) {
+            // 同步拦截器不需要回调对象
+            try {
+                return ((SyncInterceptorAdapter) interceptor).interceptor.intercept(request)
+                        ? Callback.ABORTED : Callback.CONTINUED;
+            } catch (RuntimeException e) {
+                return Callback.completed(Callback.ABORT, e);
+            }
+        }
+        Callback callback = new Callback(null);
+        try {
+            interceptor.intercept(request, callback);
+        } catch (RuntimeException e) {
+            callback.onAbort(e);
+        }
+        // 同步跳转不等待，intercept 返回之后的回调会被忽略
+        callback.onAbort(new IllegalStateException(interceptor.getClass().getName()
+                + " did not respond before intercept() returned, use navigateAsync"));
+        return callback;
+    }
+
+    private static Callback interceptOn(Executor executor, AsyncRouteInterceptor interceptor,
+                                        RouteRequest request) {
+        Callback callback = new Callback(new CountDownLatch(1));
+        try {
+            executor.execute(() -> {
+                try {
+                    interceptor.intercept(request, callback);
+                } catch (RuntimeException e) {
+                    callback.onAbort(e);
+                }
+            });
+            long timeout = interceptor.getTimeoutMillis();
+            if (!callback.latch.await(timeout, TimeUnit.MILLISECONDS)) {
+                // 超时之后的回调会被忽略
+                callback.onAbort(new TimeoutException(interceptor.getClass().getName()
+                        + " did not respond in " + timeout + "ms"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            callback.onAbort(e);
+        } catch (RuntimeException e) {
+            // executor 拒绝执行
+            callback.onAbort(e);
+        }
+        return callback;
+    }
+
+    private static final class Callback implements InterceptorCallback {
+        static final int CONTINUE = 0;
+        static final int REROUTE = 1;
+        static final int ABORT = 2;
+
+        // 同步拦截器的结果，已经完成，可以共享
+        static final Callback CONTINUED = completed(CONTINUE, null);
+        static final Callback ABORTED = completed(ABORT, null);
+
+        // 为 null 时不需要等待
+        final CountDownLatch latch;
+        private boolean done;
+        // 在 complete 中写入，持有锁或 latch 返回后可见
+        int action;
+        RouteRequest request;
+        Throwable reason;
+
+        Callback(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        static Callback completed(int action, Throwable reason) {
+            Callback callback = new Callback(null);
+            callback.complete(action, null, reason);
+            return callback;
+        }
+
+        @Override
+        public void onContinue(RouteRequest request) {
+            complete(CONTINUE, request, null);
+        }
+
+        @Override
+        public void onReroute(RouteRequest request) {
+            if (request == null) {
+                complete(ABORT, null, new IllegalArgumentException("reroute request must not be null"));
+            } else {
+                complete(REROUTE, request, null);
+            }
+        }
+
+        @Override
+        public void onAbort(Throwable reason) {
+            complete(ABORT, null, reason);
+        }
+
+        private synchronized void complete(int action, RouteRequest request, Throwable reason) {
+            if (!done) {
+                done = true;
+                this.action = action;
+                this.request = request;
+                this.reason = reason;
+                if (latch != null) {
+                    latch.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * 把同步拦截器接入拦截器链，返回 true 时中断跳转。
+     */
+    static final class SyncInterceptorAdapter implements AsyncRouteInterceptor {
+        final RouteInterceptor interceptor;
+
+        SyncInterceptorAdapter(RouteInterceptor interceptor) {
+            this.interceptor = interceptor;
+        }
+
+        @Override
+        public void intercept(RouteRequest request, InterceptorCallback callback) {
+            if (interceptor.intercept(request)) {
+                callback.onAbort(null);
+            } else {
+                callback.onContinue(request);
+            }
+        }
+    }
+}
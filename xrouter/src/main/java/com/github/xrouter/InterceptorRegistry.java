@@ -0,0 +1,173 @@
+package com.github.xrouter;
+
+import com.github.xrouter.interceptor.AsyncRouteInterceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 保存拦截器及其优先级、作用范围，并按 分组 + 路径 缓存预先筛选、排好序的拦截器链。
+ * <p>
+ * 路径规则：不传或传入 "*" 匹配全部路径；以 "/**" 结尾按路径段前缀匹配，例如 "/user/**" 匹配 "/user" 和 "/user/detail"；
+ * 其它按完整路径匹配。路径中 '?' 或 '#' 之后的部分不参与匹配。
+ * 按 URI 跳转的请求由 Router 换成目标页面的分组和路径之后再查找，见 {@code Router#chainFor}。
+ */
+final class InterceptorRegistry {
+    private static final AsyncRouteInterceptor[] NO_INTERCEPTORS = new AsyncRouteInterceptor[0];
+    // 任意深链都会产生新的缓存项，超过上限后整体清空
+    private static final int MAX_CACHED_CHAINS = 256;
+
+    private final Object lock = new Object();
+    // 整体替换发布，跳转时读取的总是一个完整的快照
+    private volatile State state = new State(new Entry[0]);
+    private int sequence;
+
+    void add(AsyncRouteInterceptor interceptor, int priority, String[] groups, String[] pathPatterns) {
+        if (interceptor == null) {
+            throw new IllegalArgumentException("interceptor must not be null");
+        }
+        synchronized (lock) {
+            Entry[] current = state.entries;
+            Entry[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = new Entry(interceptor, priority, sequence++, groups, pathPatterns);
+            // 优先级高的先执行，相同优先级按添加顺序
+            Arrays.sort(updated, (a, b) -> a.priority != b.priority
+                    ? Integer.compare(b.priority, a.priority)
+                    : Integer.compare(a.sequence, b.sequence));
+            state = new State(updated);
+        }
+    }
+
+    /**
+     * @return 对这个路由生效的拦截器，按执行顺序排列，调用方不能修改
+     */
+    AsyncRouteInterceptor[] chainFor(String group, String path) {
+        State current = state;
+        if (current.entries.length == 0) {
+            return NO_INTERCEPTORS;
+        }
+        String groupKey = group != null ? group : "";
+        String pathKey = path != null ? path : "";
+        ConcurrentHashMap<String, AsyncRouteInterceptor[]> chains = current.chains.get(groupKey);
+        if (chains != null) {
+            AsyncRouteInterceptor[] chain = chains.get(pathKey);
+            if (chain != null) {
+                return chain;
+            }
+        }
+        AsyncRouteInterceptor[] chain = current.compute(group, path);
+        if (current.cachedCount.incrementAndGet() > MAX_CACHED_CHAINS) {
+            current.chains.clear();
+            current.cachedCount.set(0);
+        }
+        if (chains == null) {
+            chains = current.chains.computeIfAbsent(groupKey, key -> new ConcurrentHashMap<>());
+        }
+        chains.put(pathKey, chain);
+        return chain;
+    }
+
+    private static final class State {
+        final Entry[] entries;
+        final ConcurrentHashMap<String, ConcurrentHashMap<String, AsyncRouteInterceptor[]>> chains =
+                new ConcurrentHashMap<>();
+        final AtomicInteger cachedCount = new AtomicInteger();
+
+        State(Entry[] entries) {
+            this.entries = entries;
+        }
+
+        AsyncRouteInterceptor[] compute(String group, String path) {
+            List<AsyncRouteInterceptor> matched = new ArrayList<>(entries.length);
+            for (Entry entry : entries) {
+                if (entry.matches(group, path)) {
+                    matched.add(entry.interceptor);
+                }
+            }
+            return matched.isEmpty() ? NO_INTERCEPTORS : matched.toArray(NO_INTERCEPTORS);
+        }
+    }
+
+    private static final class Entry {
+        final AsyncRouteInterceptor interceptor;
+        final int priority;
+        final int sequence;
+        // 为 null 表示不限制
+        final String[] groups;
+        final String[] exactPaths;
+        final String[] pathPrefixes;
+
+        Entry(AsyncRouteInterceptor interceptor, int priority, int sequence, String[] groups, String[] pathPatterns) {
+            this.interceptor = interceptor;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.groups = groups == null || groups.length == 0 ? null : groups.clone();
+            List<String> exact = new ArrayList<>();
+            List<String> prefixes = new ArrayList<>();
+            boolean matchAll = pathPatterns == null || pathPatterns.length == 0;
+            if (!matchAll) {
+                for (String pattern : pathPatterns) {
+                    if (pattern == null || pattern.equals("*") || pattern.equals("/**")) {
+                        matchAll = true;
+                        break;
+                    }
+                    if (pattern.endsWith("/**")) {
+                        prefixes.add(pattern.substring(0, pattern.length() - 3));
+                    } else {
+                        exact.add(pattern);
+                    }
+                }
+            }
+            this.exactPaths = matchAll ? null : exact.toArray(new String[0]);
+            this.pathPrefixes = matchAll ? null : prefixes.toArray(new String[0]);
+        }
+
+        boolean matches(String group, String path) {
+            if (groups != null && !contains(groups, group)) {
+                return false;
+            }
+            if (exactPaths == null) {
+                return true;
+            }
+            if (path == null) {
+                return false;
+            }
+            int end = pathEnd(path);
+            for (String exact : exactPaths) {
+                if (exact.length() == end && path.startsWith(exact)) {
+                    return true;
+                }
+            }
+            for (String prefix : pathPrefixes) {
+                int length = prefix.length();
+                if (length <= end && path.startsWith(prefix)
+                        && (length == end || path.charAt(length) == '/')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean contains(String[] values, String value) {
+            for (String item : values) {
+                if (item.equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int pathEnd(String path) {
+            for (int i = 0; i < path.length(); i++) {
+                char c = path.charAt(i);
+                if (c == '?' || c == '#') {
+                    return i;
+                }
+            }
+            return path.length();
+        }
+    }
+}
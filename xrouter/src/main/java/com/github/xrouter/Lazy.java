@@ -0,0 +1,23 @@
+package com.github.xrouter;
+
+import java.util.function.Supplier;
+
+/**
+ * 延迟创建的对象，第一次调用 {@link #get()} 时才创建，之后返回同一个实例。多线程同时获取时只会创建一次。
+ */
+public interface Lazy<T> {
+
+    T get();
+
+    boolean isInitialized();
+
+    /**
+     * factory 返回 null 或抛出异常时不会缓存结果，{@link #isInitialized()} 仍为 false，下一次 get 重新创建。
+     */
+    static <T> Lazy<T> of(Supplier<? extends T> factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("factory must not be null");
+        }
+        return new SynchronizedLazy<>(factory);
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.xrouter;
+
+/**
+ * 异步跳转的结果，在主线程回调。
+ */
+public interface NavigationCallback {
+
+    /**
+     * 已启动目标页面，request 是经过拦截器处理后最终跳转的请求。
+     */
+    void onArrival(RouteRequest request);
+
+    /**
+     * 没有找到对应的路由。
+     */
+    void onLost(RouteRequest request);
+
+    /**
+     * 被拦截器中断、拦截器超时或跳转过程中出错，同步拦截器中断时 reason 为 null。
+     */
+    void onInterrupt(RouteRequest request, Throwable reason);
+}
@@ -0,0 +1,73 @@
+package com.github.xrouter;
+
+/**
+ * 跳转过程的耗时与结果监听，通过 {@link Router#setNavigationListener(NavigationListener)} 设置。
+ * <p>
+ * 回调在执行跳转的线程上同步调用，实现中不能阻塞或抛出异常。没有设置监听时 Router 不会读取时钟，也不会调用任何回调。
+ */
+public interface NavigationListener {
+
+    NavigationListener NONE = new NavigationListener() {
+    };
+
+    enum Phase {
+        /**
+         * 执行拦截器链。
+         */
+        INTERCEPT,
+        /**
+         * 解析目标类，包含 {@link #LOAD_TABLE}。
+         */
+        RESOLVE,
+        /**
+         * 按分组获取路由表，分组第一次使用时包含路由表的创建。
+         */
+        LOAD_TABLE,
+        /**
+         * 把请求参数写入 Intent。
+         */
+        EXTRAS,
+        START_ACTIVITY
+    }
+
+    enum Result {
+        ARRIVED,
+        /**
+         * 没有找到目标。
+         */
+        LOST,
+        /**
+         * 被拦截器中断。
+         */
+        INTERRUPTED,
+        /**
+         * 跳转过程中抛出了异常。
+         */
+        FAILED
+    }
+
+    /**
+     * 依次通知多个监听，例如同时使用 {@link TraceNavigationListener} 和 {@link NavigationMetrics}。
+     */
+    static NavigationListener of(NavigationListener... listeners) {
+        return new CompositeNavigationListener(listeners.clone());
+    }
+
+    /**
+     * 与 {@link #onPhaseEnd} 成对调用，阶段内抛出异常时同样会调用 onPhaseEnd。
+     */
+    default void onPhaseStart(RouteRequest request, Phase phase) {
+    }
+
+    default void onPhaseEnd(RouteRequest request, Phase phase, long durationNanos) {
+    }
+
+    default void onRouteCacheLookup(RouteRequest request, boolean hit) {
+    }
+
+    /**
+     * @param durationNanos 从开始跳转到得到结果的耗时，异步跳转包含切换到主线程的等待
+     */
+    default void onNavigationEnd(RouteRequest request, Result result, long durationNanos) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.xrouter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 累计跳转结果、各阶段耗时和路由缓存命中次数，可以定期读取后上报。
+ * 需要按路由统计延迟分布时，继承并重写 {@link #onNavigationEnd}，记得调用 super。
+ */
+public class NavigationMetrics implements NavigationListener {
+    private final LongAdder[] results = newAdders(Result.values().length);
+    private final LongAdder[] phaseCounts = newAdders(Phase.values().length);
+    private final LongAdder[] phaseNanos = newAdders(Phase.values().length);
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    @Override
+    public void onPhaseEnd(RouteRequest request, Phase phase, long durationNanos) {
+        phaseCounts[phase.ordinal()].increment();
+        phaseNanos[phase.ordinal()].add(durationNanos);
+    }
+
+    @Override
+    public void onRouteCacheLookup(RouteRequest request, boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    @Override
+    public void onNavigationEnd(RouteRequest request, Result result, long durationNanos) {
+        results[result.ordinal()].increment();
+    }
+
+    public long getCount(Result result) {
+        return results[result.ordinal()].sum();
+    }
+
+    public long getFailures() {
+        return getCount(Result.FAILED);
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getPhaseCount(Phase phase) {
+        return phaseCounts[phase.ordinal()].sum();
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * 与并发的跳转之间没有原子性，上报后调用即可。
+     */
+    public void reset() {
+        for (LongAdder adder : results) {
+            adder.reset();
+        }
+        for (int i = 0; i < phaseCounts.length; i++) {
+            phaseCounts[i].reset();
+            phaseNanos[i].reset();
+        }
+        cacheHits.reset();
+        cacheMisses.reset();
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.xrouter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 以 (group, path) 为键缓存路由解析结果，未命中任何路由的路径同样会被记录下来。
+ * <p>
+ * 容量固定，超出时淘汰最久未访问的条目：按访问顺序排列的 LinkedHashMap 在读写时移动节点，淘汰链表头，都是 O(1)。
+ * 读写都在同一把锁内完成，查找复用同一个键对象，不分配内存。
+ * 注册或注销动态路由时整体失效，失效之前开始的解析结果不会再写入缓存。
+ */
+public final class RouteCache {
+    private final Object lock = new Object();
+    private final LinkedHashMap<Key, Entry> entries;
+    // 查找时复用的键，只在持有 lock 时使用
+    private final Key probe = new Key();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong negativeHitCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private volatile long generation;
+
+    RouteCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        // 按容量预留桶，缓存写满之前不会扩容
+        entries = new LinkedHashMap<Key, Entry>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                evictionCount.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return 缓存条目；返回 null 表示没有缓存，条目的 target 为 null 表示已知不存在的路由
+     */
+    Entry get(String group, String path) {
+        Entry entry;
+        synchronized (lock) {
+            entry = entries.get(probe.set(group, path));
+            probe.set(null, null);
+        }
+        if (entry == null) {
+            missCount.incrementAndGet();
+        } else if (entry.target != null) {
+            hitCount.incrementAndGet();
+        } else {
+            negativeHitCount.incrementAndGet();
+        }
+        return entry;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * @param generation 开始解析前通过 {@link #generation()} 读到的值，期间缓存被清空过则放弃写入
+     */
+    void put(String group, String path, Class<?> target, long generation) {
+        synchronized (lock) {
+            if (generation != this.generation) {
+                return;
+            }
+            // 并发解析同一个路由时保留先写入的结果
+            if (entries.get(probe.set(group, path)) == null) {
+                entries.put(new Key().set(group, path), new Entry(target));
+            }
+            probe.set(null, null);
+        }
+    }
+
+    void clear() {
+        synchronized (lock) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hitCount.get(), missCount.get(), negativeHitCount.get(), evictionCount.get());
+    }
+
+    private static final class Key {
+        String group;
+        String path;
+        int hash;
+
+        Key set(String group, String path) {
+            this.group = group;
+            this.path = path;
+            this.hash = Objects.hashCode(group) * 31 + Objects.hashCode(path);
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && Objects.equals(group, other.group) && Objects.equals(path, other.path);
+        }
+    }
+
+    static final class Entry {
+        final Class<?> target;
+
+        Entry(Class<?> target) {
+            this.target = target;
+        }
+
+        Class<?> getTarget() {
+            return target;
+        }
+    }
+
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long negativeHitCount;
+        private final long evictionCount;
+
+        Stats(long hitCount, long missCount, long negativeHitCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.negativeHitCount = negativeHitCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * 命中已解析路由的次数。
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * 缓存中没有记录、需要重新解析的次数。
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * 命中"路由不存在"记录的次数。
+         */
+        public long getNegativeHitCount() {
+            return negativeHitCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        @Override
+        public String toString() {
+            return "RouteCache.Stats{hit=" + hitCount
+                    + ", miss=" + missCount
+                    + ", negativeHit=" + negativeHitCount
+                    + ", eviction=" + evictionCount + '}';
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.github.xrouter;
+
+import android.os.Parcel;
+
+import com.github.xrouter.utils.ParamCodec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 路由参数存储，按插入顺序保存在几组并行数组里。
+ * <p>
+ * 基本类型直接存放在 long 数组中，写入和读取都不装箱；数组在 {@link #clear()} 后保留，
+ * 配合 {@link RouteRequest#obtain(String, String)} 复用时不会产生新的垃圾。
+ */
+public final class RouteParams {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private long[] primitives = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public String keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return {@link ParamCodec} 中定义的类型标记
+     */
+    public int typeAt(int index) {
+        return types[index];
+    }
+
+    public int getIntAt(int index) {
+        return (int) primitives[index];
+    }
+
+    public long getLongAt(int index) {
+        return primitives[index];
+    }
+
+    public boolean getBooleanAt(int index) {
+        return primitives[index] != 0;
+    }
+
+    public double getDoubleAt(int index) {
+        return Double.longBitsToDouble(primitives[index]);
+    }
+
+    public float getFloatAt(int index) {
+        return Float.intBitsToFloat((int) primitives[index]);
+    }
+
+    public short getShortAt(int index) {
+        return (short) primitives[index];
+    }
+
+    public byte getByteAt(int index) {
+        return (byte) primitives[index];
+    }
+
+    public char getCharAt(int index) {
+        return (char) primitives[index];
+    }
+
+    /**
+     * 按对象读取，基本类型会被装箱。
+     */
+    public Object valueAt(int index) {
+        switch (types[index]) {
+            case ParamCodec.TYPE_INT:
+                return getIntAt(index);
+            case ParamCodec.TYPE_LONG:
+                return getLongAt(index);
+            case ParamCodec.TYPE_BOOLEAN:
+                return getBooleanAt(index);
+            case ParamCodec.TYPE_DOUBLE:
+                return getDoubleAt(index);
+            case ParamCodec.TYPE_FLOAT:
+                return getFloatAt(index);
+            case ParamCodec.TYPE_SHORT:
+                return getShortAt(index);
+            case ParamCodec.TYPE_BYTE:
+                return getByteAt(index);
+            case ParamCodec.TYPE_CHAR:
+                return getCharAt(index);
+            default:
+                return values[index];
+        }
+    }
+
+    public int indexOfKey(String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void putInt(String key, int value) {
+        putPrimitive(key, ParamCodec.TYPE_INT, value);
+    }
+
+    public void putLong(String key, long value) {
+        putPrimitive(key, ParamCodec.TYPE_LONG, value);
+    }
+
+    public void putBoolean(String key, boolean value) {
+        putPrimitive(key, ParamCodec.TYPE_BOOLEAN, value ? 1 : 0);
+    }
+
+    public void putDouble(String key, double value) {
+        putPrimitive(key, ParamCodec.TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    public void putFloat(String key, float value) {
+        putPrimitive(key, ParamCodec.TYPE_FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    public void putShort(String key, short value) {
+        putPrimitive(key, ParamCodec.TYPE_SHORT, value);
+    }
+
+    public void putByte(String key, byte value) {
+        putPrimitive(key, ParamCodec.TYPE_BYTE, value);
+    }
+
+    public void putChar(String key, char value) {
+        putPrimitive(key, ParamCodec.TYPE_CHAR, value);
+    }
+
+    /**
+     * 装箱的基本类型会被拆箱后按基本类型保存。
+     */
+    public void putObject(String key, Object value) {
+        int type = ParamCodec.typeOf(value);
+        switch (type) {
+            case ParamCodec.TYPE_INT:
+                putInt(key, (Integer) value);
+                break;
+            case ParamCodec.TYPE_LONG:
+                putLong(key, (Long) value);
+                break;
+            case ParamCodec.TYPE_BOOLEAN:
+                putBoolean(key, (Boolean) value);
+                break;
+            case ParamCodec.TYPE_DOUBLE:
+                putDouble(key, (Double) value);
+                break;
+            case ParamCodec.TYPE_FLOAT:
+                putFloat(key, (Float) value);
+                break;
+            case ParamCodec.TYPE_SHORT:
+                putShort(key, (Short) value);
+                break;
+            case ParamCodec.TYPE_BYTE:
+                putByte(key, (Byte) value);
+                break;
+            case ParamCodec.TYPE_CHAR:
+                putChar(key, (Character) value);
+                break;
+            default:
+                int index = slotFor(key);
+                types[index] = type;
+                primitives[index] = 0;
+                values[index] = value;
+                break;
+        }
+    }
+
+    public void remove(String key) {
+        int index = indexOfKey(key);
+        if (index < 0) {
+            return;
+        }
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(primitives, index + 1, primitives, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * 复制出一个 Map，会装箱基本类型，只用于兼容旧接口。
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], valueAt(i));
+        }
+        return map;
+    }
+
+    void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            dest.writeString(keys[i]);
+            int type = types[i];
+            if (ParamCodec.isPrimitive(type)) {
+                ParamCodec.writePrimitive(dest, type, primitives[i]);
+            } else {
+                ParamCodec.write(dest, values[i], flags);
+            }
+        }
+    }
+
+    void readFromParcel(Parcel in) {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = in.readString();
+            putObject(key, ParamCodec.read(in));
+        }
+    }
+
+    private void putPrimitive(String key, int type, long bits) {
+        int index = slotFor(key);
+        types[index] = type;
+        primitives[index] = bits;
+        values[index] = null;
+    }
+
+    private int slotFor(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key == null");
+        }
+        int index = indexOfKey(key);
+        if (index >= 0) {
+            return index;
+        }
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            types = Arrays.copyOf(types, capacity);
+            primitives = Arrays.copyOf(primitives, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        return size++;
+    }
+}
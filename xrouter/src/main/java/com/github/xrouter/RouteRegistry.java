@@ -0,0 +1,141 @@
+package com.github.xrouter;
+
+import com.github.core.AbstractRouteTable;
+import com.github.core.RouteMeta;
+import com.github.core.RouteRoot;
+import com.github.core.RouteTable;
+import com.github.core.RouteTrie;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 合并所有模块生成的 {@link RouteRoot}，得到 分组 -> 模块 的索引。
+ * 索引只在第一次使用时构建一次，之后按分组查找只需一次哈希查询，并且只创建该分组自己的路由表。
+ */
+final class RouteRegistry {
+
+    private static final ConcurrentHashMap<String, RouteTable> TABLES = new ConcurrentHashMap<>();
+
+    private RouteRegistry() {
+    }
+
+    private static final class Holder {
+        static final Map<String, RouteRoot[]> GROUP_INDEX = loadGroupIndex();
+    }
+
+    private static Map<String, RouteRoot[]> loadGroupIndex() {
+        Map<String, RouteRoot[]> index = new HashMap<>();
+        // 构建期生成的注册表直接给出全部 RouteRoot，没有使用插件时才通过 ServiceLoader 查找
+        RouteRoot[] generated = GeneratedRegistry.getRouteRoots();
+        Iterable<RouteRoot> allRoots = generated != null
+                ? Arrays.asList(generated)
+                : ServiceLoader.load(RouteRoot.class);
+        for (RouteRoot root : allRoots) {
+            for (String group : root.getGroups()) {
+                RouteRoot[] roots = index.get(group);
+                if (roots == null) {
+                    roots = new RouteRoot[]{root};
+                } else {
+                    roots = Arrays.copyOf(roots, roots.length + 1);
+                    roots[roots.length - 1] = root;
+                }
+                index.put(group, roots);
+            }
+        }
+        return index;
+    }
+
+    static String[] getGroups() {
+        return Holder.GROUP_INDEX.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * 每个分组的路由表在进程内只创建一次，只在路由第一次被解析时加载目标类。
+     */
+    static RouteTable getRouteTable(String group) {
+        RouteTable table = TABLES.get(group);
+        if (table == null) {
+            table = createRouteTable(group);
+            if (table != null) {
+                // 并发加载同一分组时以先写入的为准
+                RouteTable previous = TABLES.putIfAbsent(group, table);
+                if (previous != null) {
+                    table = previous;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static RouteTable createRouteTable(String group) {
+        RouteRoot[] roots = Holder.GROUP_INDEX.get(group);
+        if (roots == null) {
+            return null;
+        }
+        if (roots.length == 1) {
+            RouteTable table = roots[0].createRouteTable(group);
+            // 旧版本 APT 生成的路由表没有缓存索引，包装一层只构建一次
+            return table == null || table instanceof AbstractRouteTable
+                    ? table
+                    : new MergedRouteTable(new RouteTable[]{table});
+        }
+        // 多个模块声明了同一个分组
+        RouteTable[] tables = new RouteTable[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            tables[i] = roots[i].createRouteTable(group);
+        }
+        return new MergedRouteTable(tables);
+    }
+
+    private static final class MergedRouteTable implements RouteTable {
+        private final RouteMeta[] routes;
+        private final RouteTrie<RouteMeta> routeIndex;
+        private volatile Map<String, Class<?>> routeMap;
+
+        MergedRouteTable(RouteTable[] tables) {
+            // 只合并路由元数据，目标类仍由各自的路由表按需加载
+            Map<String, RouteMeta> merged = new LinkedHashMap<>();
+            for (RouteTable table : tables) {
+                for (RouteMeta route : table.getRoutes()) {
+                    merged.put(RouteTrie.normalize(route.getPath()), route);
+                }
+            }
+            RouteTrie.Builder<RouteMeta> builder = RouteTrie.builder();
+            for (RouteMeta route : merged.values()) {
+                builder.add(route.getPath(), route);
+            }
+            routes = merged.values().toArray(new RouteMeta[0]);
+            routeIndex = builder.build();
+        }
+
+        @Override
+        public Map<String, Class<?>> getRouteMap() {
+            Map<String, Class<?>> map = routeMap;
+            if (map == null) {
+                map = new HashMap<>(routes.length * 2);
+                for (RouteMeta route : routes) {
+                    map.put(route.getPath(), route.getTarget());
+                }
+                map = Collections.unmodifiableMap(map);
+                routeMap = map;
+            }
+            return map;
+        }
+
+        @Override
+        public RouteTrie<RouteMeta> getRouteIndex() {
+            return routeIndex;
+        }
+
+        @Override
+        public RouteMeta[] getRoutes() {
+            return routes.clone();
+        }
+    }
+}
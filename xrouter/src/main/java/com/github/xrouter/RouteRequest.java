@@ -1,36 +1,117 @@
 package com.github.xrouter;
 
+import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import com.google.gson.Gson;
-
-import java.util.HashMap;
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.Map;
 
 public class RouteRequest implements Parcelable {
-    private final String path;
-    private final String group;
-    private final Map<String, Object> params;
+    private static final int MAX_POOL_SIZE = 10;
+    private static final Object POOL_LOCK = new Object();
+    // 与 android.os.Message 相同：请求在对象池中时置位，只有 obtain 会清除
+    static final int FLAG_IN_USE = 1;
+    // 通过 obtain 取得的请求，只有这类请求会放回对象池
+    static final int FLAG_POOLED = 1 << 1;
+    private static RouteRequest pool;
+    private static int poolSize;
+
+    private String path;
+    private String group;
+    private final RouteParams params;
+    // 以下字段由 POOL_LOCK 保护
+    private int flags;
+    // 尚未结束的 navigateAsync 次数，期间不能回收
+    private int navigations;
+    // 对象池中的下一个节点
+    private RouteRequest next;
 
     public RouteRequest(String path, String group) {
         this.path = path;
         this.group = group;
-        this.params = new HashMap<>();
+        this.params = new RouteParams();
     }
 
     protected RouteRequest(Parcel in) {
         path = in.readString();
         group = in.readString();
-        int size = in.readInt();
-        params = new HashMap<>();
-        Gson gson = new Gson();
-        for (int i = 0; i < size; i++) {
-            String key = in.readString();
-            String jsonValue = in.readString();
-            // 这里可以根据类型进行反序列化
-            Object value = gson.fromJson(jsonValue, Object.class);
-            params.put(key, value);
+        params = new RouteParams();
+        // 按写入时的类型标记还原，数值类型不会丢失
+        params.readFromParcel(in);
+    }
+
+    /**
+     * 从对象池中取出一个请求，用完后调用 {@link #recycle()} 归还，高频跳转时不再重复分配请求和参数数组。
+     */
+    public static RouteRequest obtain(String path, String group) {
+        RouteRequest request = null;
+        synchronized (POOL_LOCK) {
+            if (pool != null) {
+                request = pool;
+                pool = request.next;
+                request.next = null;
+                request.flags = FLAG_POOLED;
+                poolSize--;
+            }
+        }
+        if (request == null) {
+            request = new RouteRequest(path, group);
+            request.flags = FLAG_POOLED;
+            return request;
+        }
+        request.path = path;
+        request.group = group;
+        return request;
+    }
+
+    /**
+     * 归还到对象池，调用后不能再使用这个请求。
+     * 通过构造函数创建的请求不归对象池管理，调用后不做任何事。
+     *
+     * @throws IllegalStateException 请求已经回收过，或者 {@link Router#navigateAsync} 还没有回调
+     */
+    public void recycle() {
+        synchronized (POOL_LOCK) {
+            if ((flags & FLAG_IN_USE) != 0) {
+                throw new IllegalStateException("This request cannot be recycled because it is already recycled.");
+            }
+            if (navigations > 0) {
+                throw new IllegalStateException("This request cannot be recycled because it is still being navigated.");
+            }
+            if ((flags & FLAG_POOLED) == 0) {
+                return;
+            }
+            flags = FLAG_IN_USE;
+            path = null;
+            group = null;
+            params.clear();
+            if (poolSize < MAX_POOL_SIZE) {
+                next = pool;
+                pool = this;
+                poolSize++;
+            }
+        }
+    }
+
+    /**
+     * 异步跳转开始时调用，直到 {@link #endNavigation()} 之前 {@link #recycle()} 会抛出异常。
+     */
+    void beginNavigation() {
+        synchronized (POOL_LOCK) {
+            if ((flags & FLAG_IN_USE) != 0) {
+                throw new IllegalStateException("This request has been recycled and cannot be navigated.");
+            }
+            navigations++;
+        }
+    }
+
+    void endNavigation() {
+        synchronized (POOL_LOCK) {
+            if (navigations > 0) {
+                navigations--;
+            }
         }
     }
 
@@ -38,13 +119,7 @@ public class RouteRequest implements Parcelable {
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(path);
         dest.writeString(group);
-        dest.writeInt(params.size());
-        Gson gson = new Gson();
-        for (Map.Entry<String, Object> entry : params.entrySet()) {
-            dest.writeString(entry.getKey());
-            String jsonValue = gson.toJson(entry.getValue());
-            dest.writeString(jsonValue);
-        }
+        params.writeToParcel(dest, flags);
     }
 
     @Override
@@ -72,11 +147,88 @@ public class RouteRequest implements Parcelable {
         return group;
     }
 
+    /**
+     * 参数的只读快照，基本类型会被装箱；修改参数请使用 {@link #putParam(String, Object)} 或 {@link #getRouteParams()}。
+     */
     public Map<String, Object> getParams() {
+        return Collections.unmodifiableMap(params.toMap());
+    }
+
+    public RouteParams getRouteParams() {
         return params;
     }
 
     public void putParam(String key, Object value) {
-        params.put(key, value);
+        params.putObject(key, value);
+    }
+
+    public RouteRequest withString(String key, String value) {
+        params.putObject(key, value);
+        return this;
+    }
+
+    public RouteRequest withInt(String key, int value) {
+        params.putInt(key, value);
+        return this;
+    }
+
+    public RouteRequest withLong(String key, long value) {
+        params.putLong(key, value);
+        return this;
+    }
+
+    public RouteRequest withBoolean(String key, boolean value) {
+        params.putBoolean(key, value);
+        return this;
+    }
+
+    public RouteRequest withDouble(String key, double value) {
+        params.putDouble(key, value);
+        return this;
+    }
+
+    public RouteRequest withFloat(String key, float value) {
+        params.putFloat(key, value);
+        return this;
+    }
+
+    public RouteRequest withShort(String key, short value) {
+        params.putShort(key, value);
+        return this;
+    }
+
+    public RouteRequest withByte(String key, byte value) {
+        params.putByte(key, value);
+        return this;
+    }
+
+    public RouteRequest withChar(String key, char value) {
+        params.putChar(key, value);
+        return this;
+    }
+
+    public RouteRequest withCharSequence(String key, CharSequence value) {
+        params.putObject(key, value);
+        return this;
+    }
+
+    public RouteRequest withParcelable(String key, Parcelable value) {
+        params.putObject(key, value);
+        return this;
+    }
+
+    public RouteRequest withSerializable(String key, Serializable value) {
+        params.putObject(key, value);
+        return this;
+    }
+
+    public RouteRequest withBundle(String key, Bundle value) {
+        params.putObject(key, value);
+        return this;
+    }
+
+    public RouteRequest withObject(String key, Object value) {
+        params.putObject(key, value);
+        return this;
     }
-}
\ No newline at end of file
+}
@@ -1,128 +1,728 @@
 package com.github.xrouter;
 
+import android.app.Activity;
+import android.app.Application;
 import android.content.Context;
 import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
+import com.github.core.RouteKey;
+import com.github.core.RouteMeta;
 import com.github.core.RouteTable;
+import com.github.core.RouteTrie;
 import com.github.core.RouterService;
+import com.github.core.UriMatcher;
+import com.github.core.annotation.Service;
+import com.github.xrouter.interceptor.AsyncRouteInterceptor;
 import com.github.xrouter.interceptor.RouteInterceptor;
 import com.github.xrouter.utils.ParameterInjector;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class Router {
     private static final Logger LOGGER = Logger.getLogger(Router.class.getName());
-    private final List<RouteInterceptor> interceptors = new ArrayList<>();
-    private final Map<String, RouteTable> loadedRouteTables = new HashMap<>();
-    private final Map<String, Class<?>> dynamicRouteMap = new HashMap<>();
-    private final Map<Class<?>, Object> serviceInstances = new HashMap<>();
+    private static final int ROUTE_CACHE_SIZE = 128;
+    private final InterceptorRegistry interceptorRegistry = new InterceptorRegistry();
+    private volatile Executor interceptorExecutor;
+    private volatile NavigationListener navigationListener = NavigationListener.NONE;
+    private final ConcurrentHashMap<String, Class<?>> dynamicRouteMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ServiceRegistry.ServiceHolder> serviceInstances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> preloadingGroups = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> preloadingServices = new ConcurrentHashMap<>();
+    private final RouteCache routeCache = new RouteCache(ROUTE_CACHE_SIZE);
+    // 拦截器改道之后按新请求重新选择拦截器
+    private final Function<RouteRequest, AsyncRouteInterceptor[]> rerouteChainFor = request -> chainFor(request, null);
     private final Context context;
 
+    private static volatile Router instance;
+
     public Router(Context context) {
         this.context = context;
     }
 
+    /**
+     * 初始化进程级共享的 Router，只持有 Application，在 {@link Application#onCreate()} 中调用。
+     * 重复调用返回同一个实例。目标页面的参数在其 onCreate 中自动注入。
+     */
+    public static Router init(Application application) {
+        return init(application, true);
+    }
+
+    /**
+     * @param autoInject 为 false 时不注册自动注入，由页面自己调用 {@link #inject(Activity)}
+     */
+    public static Router init(Application application, boolean autoInject) {
+        if (application == null) {
+            throw new IllegalArgumentException("application must not be null");
+        }
+        Router router = instance;
+        if (router == null) {
+            synchronized (Router.class) {
+                router = instance;
+                if (router == null) {
+                    router = new Router(application);
+                    if (autoInject) {
+                        application.registerActivityLifecycleCallbacks(new AutoInjector());
+                    }
+                    instance = router;
+                }
+            }
+        }
+        return router;
+    }
+
+    /**
+     * 把启动这个页面的 Intent 中的参数注入到 {@link com.github.core.annotation.Autowired} 字段，
+     * 在 onCreate 中调用；使用 {@link #init(Application)} 自动注入时不需要手动调用。
+     */
+    public static void inject(Activity activity) {
+        Intent intent = activity.getIntent();
+        if (intent != null) {
+            ParameterInjector.inject(activity, intent);
+        }
+    }
+
+    public static Router getInstance() {
+        Router router = instance;
+        if (router == null) {
+            throw new IllegalStateException("Router.init(Application) must be called first");
+        }
+        return router;
+    }
+
+    /**
+     * 在后台线程预热，见 {@link #warmUp(Executor)}。
+     */
+    public void warmUp() {
+        warmUp(command -> {
+            Thread thread = new Thread(command, "XRouter-WarmUp");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * 在给定的 executor 上加载全部路由分组并创建单例服务，启动后的第一次跳转不再等待 ServiceLoader 和路由表初始化。
+     * 预热与跳转可以并发进行，同一分组或单例只会创建一次。
+     */
+    public void warmUp(Executor executor) {
+        executor.execute(() -> {
+            for (String group : RouteRegistry.getGroups()) {
+                try {
+                    RouteRegistry.getRouteTable(group);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to warm up route group: " + group, e);
+                }
+            }
+            for (String path : ServiceRegistry.getServicePaths()) {
+                try {
+                    RouterService provider = ServiceRegistry.getProvider(path);
+                    // 预热使用无参构造，没有无参构造的单例不会被创建，仍由第一次 getService 传入构造参数
+                    if (provider.getScope(path) == Service.Scope.SINGLETON) {
+                        ServiceRegistry.getSingletonHolder(path).get(provider, path, null, null);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to warm up service: " + path, e);
+                }
+            }
+        });
+    }
+
+    public CompletableFuture<Void> preload(Collection<String> groups) {
+        return preload(groups, DefaultExecutorHolder.EXECUTOR);
+    }
+
+    /**
+     * 在 executor 上并行加载这些分组的路由表，并加载分组内全部目标类，之后跳转到这些页面不再有类加载。
+     * 每个分组一个任务，同一分组正在预加载时复用进行中的任务；不存在的分组直接跳过。
+     *
+     * @return 全部分组完成后结束，任一分组失败时以该异常结束
+     */
+    public CompletableFuture<Void> preload(Collection<String> groups, Executor executor) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[groups.size()];
+        int i = 0;
+        for (String group : groups) {
+            futures[i++] = submitPreload(preloadingGroups, group, executor, () -> preloadGroup(group));
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    public CompletableFuture<Void> preloadServices(Collection<String> paths) {
+        return preloadServices(paths, DefaultExecutorHolder.EXECUTOR);
+    }
+
+    /**
+     * 在 executor 上并行创建这些路径的单例服务和本 Router 内的单例服务，使用无参构造。
+     * PROTOTYPE 服务每次获取都会新建，预加载只会查找其提供者。去重方式与 {@link #preload(Collection, Executor)} 相同。
+     */
+    public CompletableFuture<Void> preloadServices(Collection<String> paths, Executor executor) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[paths.size()];
+        int i = 0;
+        for (String path : paths) {
+            futures[i++] = submitPreload(preloadingServices, path, executor, () -> preloadService(path));
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private static CompletableFuture<Void> submitPreload(ConcurrentHashMap<String, CompletableFuture<Void>> inFlight,
+                                                         String key, Executor executor, Runnable task) {
+        CompletableFuture<Void> future = inFlight.get(key);
+        if (future != null) {
+            return future;
+        }
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        future = inFlight.putIfAbsent(key, created);
+        if (future != null) {
+            return future;
+        }
+        // 完成后移出，之后的预加载会重新检查，已加载的内容直接命中缓存
+        created.whenComplete((result, error) -> inFlight.remove(key, created));
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                    created.complete(null);
+                } catch (RuntimeException | LinkageError e) {
+                    created.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private static void preloadGroup(String group) {
+        RouteTable routeTable = RouteRegistry.getRouteTable(group);
+        if (routeTable == null) {
+            LOGGER.log(Level.WARNING, "No route group to preload: " + group);
+            return;
+        }
+        for (RouteMeta route : routeTable.getRoutes()) {
+            route.getTarget();
+        }
+    }
+
+    private void preloadService(String path) {
+        RouterService provider = ServiceRegistry.getProvider(path);
+        if (provider == null) {
+            LOGGER.log(Level.WARNING, "No service to preload: " + path);
+            return;
+        }
+        switch (provider.getScope(path)) {
+            case SINGLETON:
+                ServiceRegistry.getSingletonHolder(path).get(provider, path, null, null);
+                break;
+            case ROUTER:
+                ServiceRegistry.ServiceHolder.obtain(serviceInstances, path).get(provider, path, null, null);
+                break;
+            default:
+                break;
+        }
+    }
+
     public void addInterceptor(RouteInterceptor interceptor) {
-        interceptors.add(interceptor);
+        addInterceptor(interceptor, 0);
+    }
+
+    /**
+     * @param priority     优先级高的先执行，相同优先级按添加顺序执行
+     * @param pathPatterns 生效的路径，支持 "/user/**" 形式的前缀匹配，不传则对所有路径生效；
+     *                     按 URI 跳转时匹配目标页面的 {@link com.github.core.annotation.Route} 路径，
+     *                     页面没有声明时匹配 URI 的 host 和路径
+     */
+    public void addInterceptor(RouteInterceptor interceptor, int priority, String... pathPatterns) {
+        addInterceptor(toAsync(interceptor), priority, pathPatterns);
+    }
+
+    /**
+     * 只对指定分组生效的拦截器。按 URI 跳转时使用目标页面 {@link com.github.core.annotation.Route} 的分组。
+     */
+    public void addGroupInterceptor(RouteInterceptor interceptor, int priority, String... groups) {
+        addGroupInterceptor(toAsync(interceptor), priority, groups);
+    }
+
+    public void addInterceptor(AsyncRouteInterceptor interceptor) {
+        addInterceptor(interceptor, 0);
+    }
+
+    public void addInterceptor(AsyncRouteInterceptor interceptor, int priority, String... pathPatterns) {
+        interceptorRegistry.add(interceptor, priority, null, pathPatterns);
+    }
+
+    public void addGroupInterceptor(AsyncRouteInterceptor interceptor, int priority, String... groups) {
+        interceptorRegistry.add(interceptor, priority, groups, null);
+    }
+
+    private static AsyncRouteInterceptor toAsync(RouteInterceptor interceptor) {
+        if (interceptor == null) {
+            throw new IllegalArgumentException("interceptor must not be null");
+        }
+        return new InterceptorChain.SyncInterceptorAdapter(interceptor);
+    }
+
+    /**
+     * 设置 {@link #navigateAsync} 执行拦截器链的线程池，传入 null 恢复默认的缓存线程池。
+     * 每个拦截器也派发到这个线程池上执行，由拦截器链所在的线程计时，所以线程池至少需要两个线程，
+     * 否则每个拦截器都会超时。
+     */
+    public void setInterceptorExecutor(Executor executor) {
+        interceptorExecutor = executor;
+    }
+
+    /**
+     * 设置跳转的耗时与结果监听，传入 null 移除。
+     */
+    public void setNavigationListener(NavigationListener listener) {
+        navigationListener = listener != null ? listener : NavigationListener.NONE;
     }
 
     public void registerRoute(String path, Class<?> targetClass) {
+        if (path == null || targetClass == null) {
+            throw new IllegalArgumentException("path and targetClass must not be null");
+        }
         dynamicRouteMap.put(path, targetClass);
+        // 必须在写入之后清空，保证之后的解析能看到新路由
+        routeCache.clear();
     }
 
     public void unregisterRoute(String path) {
+        if (path == null) {
+            return;
+        }
         dynamicRouteMap.remove(path);
+        routeCache.clear();
+    }
+
+    public RouteCache.Stats getRouteCacheStats() {
+        return routeCache.stats();
     }
 
     public boolean navigate(RouteRequest request) {
+        return navigate(context, request);
+    }
+
+    public boolean navigate(String uri) {
+        return navigate(context, uri);
+    }
+
+    /**
+     * 按 {@link com.github.core.annotation.RouterUri} 声明的模板跳转，例如推送或网页中的深链。
+     * 路径参数和查询参数直接放入请求，同名时以路径参数为准；没有匹配的模板时返回 false。
+     */
+    public boolean navigate(Context context, String uri) {
+        RouteRequest request = RouteRequest.obtain(uri, null);
         try {
-            for (RouteInterceptor interceptor : interceptors) {
-                if (interceptor.intercept(request)) {
-                    return false;
-                }
+            UriMatcher.Match<Class<?>> match = putUriParams(request, uri);
+            if (match == null) {
+                LOGGER.log(Level.WARNING, "No route matches uri: " + uri);
+                NavigationListener listener = navigationListener;
+                finish(listener, request, NavigationListener.Result.LOST, startTime(listener));
+                return false;
             }
+            return navigate(context, request, match);
+        } finally {
+            request.recycle();
+        }
+    }
 
-            String path = request.getPath();
-            Class<?> targetClass = null;
+    /**
+     * 使用调用方的 context 启动页面，共享的 Router 从 Activity 跳转时不需要加 NEW_TASK。
+     * 拦截器在调用线程上执行，不等待也不计时：异步拦截器必须在 intercept 返回之前回调，否则中断跳转。
+     * 需要等待回调或有耗时的拦截器时请使用 {@link #navigateAsync}。
+     */
+    public boolean navigate(Context context, RouteRequest request) {
+        return navigate(context, request, null);
+    }
 
-            // 先检查动态路由表
-            if (dynamicRouteMap.containsKey(path)) {
-                targetClass = dynamicRouteMap.get(path);
-            } else {
-                String group = request.getGroup();
-                RouteTable routeTable = getRouteTableByGroup(group);
-                if (routeTable != null) {
-                    Map<String, Class<?>> routeMap = routeTable.getRouteMap();
-                    for (Map.Entry<String, Class<?>> entry : routeMap.entrySet()) {
-                        String routePath = entry.getKey();
-                        if (path.startsWith(routePath)) {
-                            targetClass = entry.getValue();
-                            break;
-                        }
-                    }
+    /**
+     * @param match 按 URI 跳转时已经得到的匹配结果，解析目标时不再重新匹配
+     */
+    private boolean navigate(Context context, RouteRequest request, UriMatcher.Match<Class<?>> match) {
+        NavigationListener listener = navigationListener;
+        long start = startTime(listener);
+        try {
+            // 只执行对这个路由生效的拦截器
+            AsyncRouteInterceptor[] chain = chainFor(request, match);
+            if (chain.length > 0) {
+                InterceptorChain interceptorChain = new InterceptorChain(request);
+                boolean proceed = proceed(listener, interceptorChain, chain, null);
+                if (interceptorChain.getRequest() != request) {
+                    // 拦截器替换了请求，按新请求重新解析
+                    request = interceptorChain.getRequest();
+                    match = null;
+                }
+                if (!proceed) {
+                    finish(listener, request, NavigationListener.Result.INTERRUPTED, start);
+                    return false;
                 }
             }
 
+            Class<?> targetClass = resolveTarget(listener, request, match);
+
             if (targetClass != null) {
-                try {
-                    Intent intent = new Intent(context, targetClass);
-                    for (Map.Entry<String, Object> entry : request.getParams().entrySet()) {
-                        String key = entry.getKey();
-                        Object value = entry.getValue();
-                        if (value instanceof String) {
-                            intent.putExtra(key, (String) value);
-                        } else if (value instanceof Integer) {
-                            intent.putExtra(key, (Integer) value);
-                        } else if (value instanceof Boolean) {
-                            intent.putExtra(key, (Boolean) value);
-                        }
-                        // 可以根据需要添加更多类型的处理
-                    }
-                    if (!(context instanceof android.app.Activity)) {
-                        intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-                    }
-                    context.startActivity(intent);
-                    Object instance = targetClass.newInstance();
-                    ParameterInjector.inject(instance, intent);
-                } catch (InstantiationException | IllegalAccessException e) {
-                    LOGGER.log(Level.SEVERE, "Failed to create instance of target class: " + targetClass.getName(), e);
-                }
+                // 参数由目标页面创建后自己注入，这里不再实例化目标类
+                startActivity(listener, context, createIntent(listener, context, targetClass, request), request);
+                finish(listener, request, NavigationListener.Result.ARRIVED, start);
+            } else {
+                finish(listener, request, NavigationListener.Result.LOST, start);
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error occurred during navigation", e);
+            finish(listener, request, NavigationListener.Result.FAILED, start);
             return false;
         }
 
         return true;
     }
 
-    private RouteTable getRouteTableByGroup(String group) {
-        if (!loadedRouteTables.containsKey(group)) {
-            ServiceLoader<RouteTable> serviceLoader = ServiceLoader.load(RouteTable.class);
-            for (RouteTable table : serviceLoader) {
-                // 假设 RouteTable 实现类的命名规则为 moduleName$RouteTable_$group
-                if (table.getClass().getSimpleName().endsWith(group)) {
-                    loadedRouteTables.put(group, table);
-                    break;
+    public void navigateAsync(RouteRequest request, NavigationCallback callback) {
+        navigateAsync(context, request, callback);
+    }
+
+    public void navigateAsync(String uri, NavigationCallback callback) {
+        navigateAsync(context, uri, callback);
+    }
+
+    /**
+     * {@link #navigate(Context, String)} 的异步版本，没有匹配的模板时回调 {@link NavigationCallback#onLost}。
+     */
+    public void navigateAsync(Context context, String uri, NavigationCallback callback) {
+        // 请求要在回调之后才能释放，这里不使用对象池
+        RouteRequest request = new RouteRequest(uri, null);
+        UriMatcher.Match<Class<?>> match = putUriParams(request, uri);
+        if (match == null) {
+            NavigationListener listener = navigationListener;
+            finish(listener, request, NavigationListener.Result.LOST, startTime(listener));
+            if (callback != null) {
+                MainThreadHolder.HANDLER.post(() -> callback.onLost(request));
+            }
+            return;
+        }
+        navigateAsync(context, request, callback, match);
+    }
+
+    /**
+     * @return 匹配结果，没有匹配的模板时返回 null
+     */
+    private static UriMatcher.Match<Class<?>> putUriParams(RouteRequest request, String uri) {
+        UriMatcher.Match<Class<?>> match = UriRegistry.match(uri);
+        if (match == null) {
+            return null;
+        }
+        for (int i = 0; i < match.getQueryParamCount(); i++) {
+            request.putParam(match.getQueryParamName(i), match.getQueryParamValue(i));
+        }
+        for (int i = 0; i < match.getPathParamCount(); i++) {
+            request.putParam(match.getPathParamName(i), match.getPathParamValue(i));
+        }
+        return match;
+    }
+
+    /**
+     * 在拦截线程上依次执行拦截器并解析路由，startActivity 和 callback 切回主线程执行。
+     * 收到回调之前 recycle 这个 request 会抛出 IllegalStateException。
+     */
+    public void navigateAsync(Context context, RouteRequest request, NavigationCallback callback) {
+        navigateAsync(context, request, callback, null);
+    }
+
+    private void navigateAsync(Context context, RouteRequest request, NavigationCallback callback,
+                               UriMatcher.Match<Class<?>> match) {
+        Executor configured = interceptorExecutor;
+        Executor executor = configured != null ? configured : DefaultExecutorHolder.EXECUTOR;
+        NavigationListener listener = navigationListener;
+        long start = startTime(listener);
+        request.beginNavigation();
+        try {
+            executor.execute(() -> navigateOnExecutor(context, request, callback, match, executor, listener, start));
+        } catch (RuntimeException e) {
+            request.endNavigation();
+            throw e;
+        }
+    }
+
+    private void navigateOnExecutor(Context context, RouteRequest request, NavigationCallback callback,
+                                    UriMatcher.Match<Class<?>> match, Executor executor,
+                                    NavigationListener listener, long start) {
+        InterceptorChain interceptorChain = new InterceptorChain(request);
+        try {
+            AsyncRouteInterceptor[] chain = chainFor(request, match);
+            if (chain.length > 0 && !proceed(listener, interceptorChain, chain, executor)) {
+                Throwable reason = interceptorChain.getReason();
+                finish(listener, interceptorChain.getRequest(), NavigationListener.Result.INTERRUPTED, start);
+                postToMain(request, callback, () -> callback.onInterrupt(interceptorChain.getRequest(), reason));
+                return;
+            }
+            RouteRequest target = interceptorChain.getRequest();
+            // 拦截器替换了请求时按新请求重新解析
+            Class<?> targetClass = resolveTarget(listener, target, target == request ? match : null);
+            if (targetClass == null) {
+                finish(listener, target, NavigationListener.Result.LOST, start);
+                postToMain(request, callback, () -> callback.onLost(target));
+                return;
+            }
+            Intent intent = createIntent(listener, context, targetClass, target);
+            MainThreadHolder.HANDLER.post(() -> {
+                try {
+                    startActivity(listener, context, intent, target);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Error occurred during navigation", e);
+                    finish(listener, target, NavigationListener.Result.FAILED, start);
+                    request.endNavigation();
+                    if (callback != null) {
+                        callback.onInterrupt(target, e);
+                    }
+                    return;
+                }
+                finish(listener, target, NavigationListener.Result.ARRIVED, start);
+                request.endNavigation();
+                if (callback != null) {
+                    callback.onArrival(target);
                 }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error occurred during navigation", e);
+            finish(listener, interceptorChain.getRequest(), NavigationListener.Result.FAILED, start);
+            postToMain(request, callback, () -> callback.onInterrupt(interceptorChain.getRequest(), e));
+        }
+    }
+
+    /**
+     * 异步跳转结束，先释放请求再在主线程回调，回调中可以 recycle 请求。
+     */
+    private static void postToMain(RouteRequest request, NavigationCallback callback, Runnable action) {
+        if (callback == null) {
+            request.endNavigation();
+            return;
+        }
+        MainThreadHolder.HANDLER.post(() -> {
+            request.endNavigation();
+            action.run();
+        });
+    }
+
+    /**
+     * 对这个请求生效的拦截器。按 URI 跳转的请求没有分组，先找到目标页面：页面声明了 {@link com.github.core.annotation.Route}
+     * 时按它的分组和路径选择，否则按 URI 的 host 和路径匹配路径拦截器，例如 "app://user/42?from=push" 按 "/user/42" 匹配。
+     *
+     * @param match 按 URI 跳转时已经得到的匹配结果，为 null 时重新匹配
+     */
+    private AsyncRouteInterceptor[] chainFor(RouteRequest request, UriMatcher.Match<Class<?>> match) {
+        String group = request.getGroup();
+        String path = request.getPath();
+        if (group != null || path == null) {
+            return interceptorRegistry.chainFor(group, path);
+        }
+        Class<?> target = dynamicRouteMap.get(path);
+        if (target == null) {
+            if (match == null) {
+                match = UriRegistry.match(path);
             }
+            target = match != null ? match.getValue() : null;
+        }
+        RouteKey route = target != null ? UriRegistry.routeOf(target) : null;
+        if (route != null) {
+            return interceptorRegistry.chainFor(route.getGroup(), route.getPath());
         }
-        return loadedRouteTables.get(group);
+        return interceptorRegistry.chainFor(null, uriPath(path));
     }
 
+    /**
+     * "scheme://host/path?query" 转成 "/host/path"，不是 URI 时原样返回。
+     */
+    private static String uriPath(String uri) {
+        int scheme = uri.indexOf("://");
+        return scheme < 0 ? uri : RouteTrie.normalize(uri.substring(scheme + 3));
+    }
+
+    private boolean proceed(NavigationListener listener, InterceptorChain interceptorChain,
+                            AsyncRouteInterceptor[] chain, Executor executor) {
+        RouteRequest request = interceptorChain.getRequest();
+        long start = phaseStart(listener, request, NavigationListener.Phase.INTERCEPT);
+        try {
+            return interceptorChain.proceed(chain, rerouteChainFor, executor);
+        } finally {
+            phaseEnd(listener, request, NavigationListener.Phase.INTERCEPT, start);
+        }
+    }
+
+    private static Intent createIntent(NavigationListener listener, Context context, Class<?> targetClass,
+                                       RouteRequest request) {
+        Intent intent = new Intent(context, targetClass);
+        long start = phaseStart(listener, request, NavigationListener.Phase.EXTRAS);
+        try {
+            IntentExtras.putExtras(intent, request.getRouteParams());
+        } finally {
+            phaseEnd(listener, request, NavigationListener.Phase.EXTRAS, start);
+        }
+        if (!(context instanceof Activity)) {
+            intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+        }
+        return intent;
+    }
+
+    private static void startActivity(NavigationListener listener, Context context, Intent intent,
+                                      RouteRequest request) {
+        long start = phaseStart(listener, request, NavigationListener.Phase.START_ACTIVITY);
+        try {
+            context.startActivity(intent);
+        } finally {
+            phaseEnd(listener, request, NavigationListener.Phase.START_ACTIVITY, start);
+        }
+    }
+
+    // 没有设置监听时只多一次引用比较，不读取时钟
+
+    private static long startTime(NavigationListener listener) {
+        return listener == NavigationListener.NONE ? 0L : System.nanoTime();
+    }
+
+    private static long phaseStart(NavigationListener listener, RouteRequest request, NavigationListener.Phase phase) {
+        if (listener == NavigationListener.NONE) {
+            return 0L;
+        }
+        listener.onPhaseStart(request, phase);
+        return System.nanoTime();
+    }
+
+    private static void phaseEnd(NavigationListener listener, RouteRequest request, NavigationListener.Phase phase,
+                                 long start) {
+        if (listener != NavigationListener.NONE) {
+            listener.onPhaseEnd(request, phase, System.nanoTime() - start);
+        }
+    }
+
+    private static void finish(NavigationListener listener, RouteRequest request, NavigationListener.Result result,
+                               long start) {
+        if (listener != NavigationListener.NONE) {
+            listener.onNavigationEnd(request, result, System.nanoTime() - start);
+        }
+    }
+
+    private static final class MainThreadHolder {
+        static final Handler HANDLER = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * 异步跳转的拦截器和预加载默认使用的后台线程池。
+     */
+    private static final class DefaultExecutorHolder {
+        static final Executor EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "XRouter-Worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private Class<?> resolveTarget(NavigationListener listener, RouteRequest request,
+                                   UriMatcher.Match<Class<?>> match) {
+        long start = phaseStart(listener, request, NavigationListener.Phase.RESOLVE);
+        try {
+            if (request.getGroup() == null && request.getPath() != null) {
+                return lookupUriTarget(request.getPath(), match);
+            }
+            return lookupTarget(listener, request, request.getGroup(), request.getPath());
+        } finally {
+            phaseEnd(listener, request, NavigationListener.Phase.RESOLVE, start);
+        }
+    }
+
+    private Class<?> lookupTarget(NavigationListener listener, RouteRequest request, String group, String path) {
+        RouteCache.Entry cached = routeCache.get(group, path);
+        if (listener != NavigationListener.NONE) {
+            listener.onRouteCacheLookup(request, cached != null);
+        }
+        if (cached != null) {
+            return cached.getTarget();
+        }
+        // 先读取缓存代数再读路由，期间有注册或注销时这次结果不会写入缓存
+        long generation = routeCache.generation();
+        // 先检查动态路由表
+        Class<?> targetClass = path != null ? dynamicRouteMap.get(path) : null;
+        if (targetClass == null && path != null && group != null) {
+            RouteTable routeTable = loadRouteTable(listener, request, group);
+            if (routeTable != null) {
+                // 按路径段做最长前缀匹配，结果与路由表顺序无关；只加载命中的目标类
+                RouteMeta route = routeTable.getRouteIndex().match(path);
+                if (route != null) {
+                    targetClass = route.getTarget();
+                }
+            }
+        }
+        // 找不到的路由同样缓存，重复的无效链接不再重新解析
+        routeCache.put(group, path, targetClass, generation);
+        return targetClass;
+    }
+
+    /**
+     * 没有分组的请求按 URI 模板匹配。匹配本身就是一次按 scheme -> host -> 路径段的查找，结果不再经过路由缓存，
+     * 深链不会挤掉分组路由的缓存条目。
+     *
+     * @param match 已有的匹配结果，为 null 时重新匹配
+     */
+    private Class<?> lookupUriTarget(String uri, UriMatcher.Match<Class<?>> match) {
+        // 动态路由按完整路径注册，优先于模板
+        Class<?> dynamic = dynamicRouteMap.get(uri);
+        if (dynamic != null) {
+            return dynamic;
+        }
+        if (match == null) {
+            match = UriRegistry.match(uri);
+        }
+        return match != null ? match.getValue() : null;
+    }
+
+    private static RouteTable loadRouteTable(NavigationListener listener, RouteRequest request, String group) {
+        long start = phaseStart(listener, request, NavigationListener.Phase.LOAD_TABLE);
+        try {
+            return RouteRegistry.getRouteTable(group);
+        } finally {
+            phaseEnd(listener, request, NavigationListener.Phase.LOAD_TABLE, start);
+        }
+    }
+
+    public <T> T getService(String path) {
+        return getService(path, null, null);
+    }
+
+    /**
+     * 返回服务的延迟句柄，第一次 {@link Lazy#get()} 时才按路径获取，之后一直返回同一个实例，不再受服务作用域影响。
+     * 页面可能用不到的服务在 onCreate 中获取句柄即可，构造开销推迟到真正使用时。
+     */
+    public <T> Lazy<T> lazyService(String path) {
+        return Lazy.of(() -> getService(path));
+    }
+
+    @SuppressWarnings("unchecked")
     public <T> T getService(String path,
                             Class<?>[] parameterTypes,
                             Object[] initArgs) {
-        ServiceLoader<RouterService> serviceLoader = ServiceLoader.load(RouterService.class);
-        for (RouterService manager : serviceLoader) {
-            T instance = manager.newServiceInstance(path, parameterTypes, initArgs);
-            if (instance != null) {
-                return instance;
-            }
+        RouterService provider = ServiceRegistry.getProvider(path);
+        if (provider == null) {
+            return ServiceRegistry.probe(path, parameterTypes, initArgs);
+        }
+        switch (provider.getScope(path)) {
+            case SINGLETON:
+                return (T) ServiceRegistry.getSingletonHolder(path)
+                        .get(provider, path, parameterTypes, initArgs);
+            case ROUTER:
+                return (T) ServiceRegistry.ServiceHolder.obtain(serviceInstances, path)
+                        .get(provider, path, parameterTypes, initArgs);
+            default:
+                if (parameterTypes == null && initArgs == null) {
+                    return provider.newServiceInstance(path);
+                }
+                return provider.newServiceInstance(path, parameterTypes, initArgs);
         }
-        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.github.xrouter;
+
+import com.github.core.RouterService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 合并所有模块生成的 {@link RouterService}，得到 服务路径 -> 提供者 的索引，并保存进程级单例。
+ */
+final class ServiceRegistry {
+    private static final Logger LOGGER = Logger.getLogger(ServiceRegistry.class.getName());
+    private static final ConcurrentHashMap<String, ServiceHolder> SINGLETONS = new ConcurrentHashMap<>();
+
+    private ServiceRegistry() {
+    }
+
+    private static final class Holder {
+        static final Map<String, RouterService> SERVICE_INDEX = new HashMap<>();
+        /**
+         * 没有声明服务路径的提供者，例如旧版本 APT 生成或手写的实现，只能逐个尝试创建。
+         */
+        static final List<RouterService> UNINDEXED = new ArrayList<>();
+
+        static {
+            loadServiceIndex(SERVICE_INDEX, UNINDEXED);
+        }
+    }
+
+    private static void loadServiceIndex(Map<String, RouterService> index, List<RouterService> unindexed) {
+        RouterService[] generated = GeneratedRegistry.getRouterServices();
+        Iterable<RouterService> providers = generated != null
+                ? Arrays.asList(generated)
+                : ServiceLoader.load(RouterService.class);
+        for (RouterService provider : providers) {
+            String[] paths = provider.getServicePaths();
+            if (paths.length == 0) {
+                unindexed.add(provider);
+                continue;
+            }
+            for (String path : paths) {
+                RouterService previous = index.put(path, provider);
+                // 同一模块内的重复路径在编译期报错，这里只可能是不同模块声明了同一个路径
+                if (previous != null && previous != provider) {
+                    LOGGER.log(Level.SEVERE, "Service path " + path + " is declared by both "
+                            + previous.getClass().getName() + " and " + provider.getClass().getName()
+                            + ", using the latter");
+                }
+            }
+        }
+    }
+
+    static RouterService getProvider(String path) {
+        return Holder.SERVICE_INDEX.get(path);
+    }
+
+    /**
+     * 索引中找不到路径时依次询问未声明路径的提供者，返回第一个非 null 的实例，每次调用都会新建实例。
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T probe(String path, Class<?>[] parameterTypes, Object[] initArgs) {
+        for (RouterService provider : Holder.UNINDEXED) {
+            Object instance = parameterTypes == null && initArgs == null
+                    ? provider.newServiceInstance(path)
+                    : provider.newServiceInstance(path, parameterTypes, initArgs);
+            if (instance != null) {
+                return (T) instance;
+            }
+        }
+        return null;
+    }
+
+    static String[] getServicePaths() {
+        return Holder.SERVICE_INDEX.keySet().toArray(new String[0]);
+    }
+
+    static ServiceHolder getSingletonHolder(String path) {
+        return ServiceHolder.obtain(SINGLETONS, path);
+    }
+
+    /**
+     * 延迟创建的服务实例，同一个持有者只会创建一次。
+     */
+    static final class ServiceHolder {
+        private volatile Object instance;
+
+        static ServiceHolder obtain(ConcurrentHashMap<String, ServiceHolder> holders, String path) {
+            ServiceHolder holder = holders.get(path);
+            if (holder == null) {
+                holder = holders.computeIfAbsent(path, key -> new ServiceHolder());
+            }
+            return holder;
+        }
+
+        Object get(RouterService provider, String path, Class<?>[] parameterTypes, Object[] initArgs) {
+            Object result = instance;
+            if (result == null) {
+                synchronized (this) {
+                    result = instance;
+                    if (result == null) {
+                        // 构造参数只在首次创建时生效
+                        result = parameterTypes == null && initArgs == null
+                                ? provider.newServiceInstance(path)
+                                : provider.newServiceInstance(path, parameterTypes, initArgs);
+                        instance = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        boolean isCreated() {
+            return instance != null;
+        }
+
+        Object get(Supplier<?> factory) {
+            Object result = instance;
+            if (result == null) {
+                synchronized (this) {
+                    result = instance;
+                    if (result == null) {
+                        result = factory.get();
+                        instance = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.xrouter;
+
+import java.util.function.Supplier;
+
+/**
+ * APT 生成的 {@code <Module>Services} 访问器中的单例服务。
+ * <p>
+ * 与 {@link Router#getService(String)} 共用同一个实例：路径只在创建时查找一次，之后每次获取只读一个 volatile 字段，
+ * 实例由生成代码直接 new，不经过服务提供者。
+ */
+public final class ServiceSingleton<T> implements Lazy<T> {
+    private final ServiceRegistry.ServiceHolder holder;
+    private final Supplier<? extends T> factory;
+
+    public ServiceSingleton(String path, Supplier<? extends T> factory) {
+        this.holder = ServiceRegistry.getSingletonHolder(path);
+        this.factory = factory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        return (T) holder.get(factory);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return holder.isCreated();
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.xrouter;
+
+import java.util.function.Supplier;
+
+final class SynchronizedLazy<T> implements Lazy<T> {
+    private static final Object UNINITIALIZED = new Object();
+
+    private volatile Object value = UNINITIALIZED;
+    // 创建完成后释放，避免一直持有 factory 捕获的对象
+    private Supplier<? extends T> factory;
+
+    SynchronizedLazy(Supplier<? extends T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object result = value;
+        if (result == UNINITIALIZED) {
+            synchronized (this) {
+                result = value;
+                if (result == UNINITIALIZED) {
+                    T created = factory.get();
+                    if (created == null) {
+                        // 与 ServiceRegistry 一致，null 表示暂时无法创建，下一次 get 重新调用 factory
+                        return null;
+                    }
+                    value = created;
+                    factory = null;
+                    return created;
+                }
+            }
+        }
+        return (T) result;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return value != UNINITIALIZED;
+    }
+}
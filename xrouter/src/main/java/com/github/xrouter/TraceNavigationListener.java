@@ -0,0 +1,28 @@
+package com.github.xrouter;
+
+import android.os.Trace;
+
+/**
+ * 把跳转的各个阶段写成 {@link Trace} 段，在 systrace / Perfetto 中显示为 "XRouter:RESOLVE" 等。
+ */
+public final class TraceNavigationListener implements NavigationListener {
+    private static final String[] SECTION_NAMES;
+
+    static {
+        Phase[] phases = Phase.values();
+        SECTION_NAMES = new String[phases.length];
+        for (Phase phase : phases) {
+            SECTION_NAMES[phase.ordinal()] = "XRouter:" + phase.name();
+        }
+    }
+
+    @Override
+    public void onPhaseStart(RouteRequest request, Phase phase) {
+        Trace.beginSection(SECTION_NAMES[phase.ordinal()]);
+    }
+
+    @Override
+    public void onPhaseEnd(RouteRequest request, Phase phase, long durationNanos) {
+        Trace.endSection();
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.xrouter;
+
+import com.github.core.RouteKey;
+import com.github.core.UriMatcher;
+import com.github.core.UriTable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * 合并所有模块生成的 {@link UriTable}，在第一次按 URI 跳转时构建一次匹配器。
+ */
+final class UriRegistry {
+
+    private UriRegistry() {
+    }
+
+    private static final class Holder {
+        static final Map<Class<?>, RouteKey> ROUTES = new HashMap<>();
+        static final UriMatcher<Class<?>> MATCHER = loadMatcher(ROUTES);
+    }
+
+    private static UriMatcher<Class<?>> loadMatcher(Map<Class<?>, RouteKey> routes) {
+        UriMatcher.Builder<Class<?>> builder = UriMatcher.builder();
+        UriTable[] generated = GeneratedRegistry.getUriTables();
+        Iterable<UriTable> tables = generated != null
+                ? Arrays.asList(generated)
+                : ServiceLoader.load(UriTable.class);
+        for (UriTable table : tables) {
+            table.loadInto(builder);
+            table.loadRoutesInto(routes);
+        }
+        return builder.build();
+    }
+
+    static UriMatcher.Match<Class<?>> match(String uri) {
+        return Holder.MATCHER.match(uri);
+    }
+
+    /**
+     * @return 目标页面声明的 {@link com.github.core.annotation.Route} 分组和路径，没有声明时返回 null
+     */
+    static RouteKey routeOf(Class<?> target) {
+        return Holder.ROUTES.get(target);
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.xrouter.interceptor;
+
+import com.github.xrouter.RouteRequest;
+
+/**
+ * 异步拦截器，处理完成后必须调用 callback 中的一个方法。
+ * navigateAsync 中在拦截线程上执行，可以读写磁盘或进行 IPC；
+ * 同步 navigate 中在调用线程上执行，必须在 intercept 返回之前回调，否则中断跳转。
+ */
+public interface AsyncRouteInterceptor {
+    long DEFAULT_TIMEOUT_MILLIS = 3000;
+
+    void intercept(RouteRequest request, InterceptorCallback callback);
+
+    /**
+     * navigateAsync 中超过这个时间仍未回调视为中断跳转，包括在 intercept 中阻塞的情况。
+     */
+    default long getTimeoutMillis() {
+        return DEFAULT_TIMEOUT_MILLIS;
+    }
+}
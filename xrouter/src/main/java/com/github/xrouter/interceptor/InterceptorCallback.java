@@ -0,0 +1,24 @@
+package com.github.xrouter.interceptor;
+
+import com.github.xrouter.RouteRequest;
+
+/**
+ * 异步拦截器的处理结果，只有第一次调用生效，可以在任意线程调用。
+ */
+public interface InterceptorCallback {
+
+    /**
+     * 交给下一个拦截器处理，request 可以是修改过参数的原请求。
+     */
+    void onContinue(RouteRequest request);
+
+    /**
+     * 改为跳转到新的请求，新请求会从第一个拦截器重新开始处理。
+     */
+    void onReroute(RouteRequest request);
+
+    /**
+     * 中断跳转。
+     */
+    void onAbort(Throwable reason);
+}
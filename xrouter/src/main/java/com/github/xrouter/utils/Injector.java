@@ -0,0 +1,10 @@
+package com.github.xrouter.utils;
+
+import android.content.Intent;
+
+/**
+ * 由 APT 为声明了 {@link com.github.core.annotation.Autowired} 字段的类生成，类名为 {@code <Target>$$Injector}。
+ */
+public interface Injector<T> {
+    void inject(T target, Intent intent);
+}
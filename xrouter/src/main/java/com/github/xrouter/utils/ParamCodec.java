@@ -0,0 +1,347 @@
+package com.github.xrouter.utils;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.text.TextUtils;
+
+import com.google.gson.Gson;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 路由参数的类型标记与 Parcel 二进制编码。
+ * <p>
+ * 每个参数写入一个类型标记，再按类型调用 Parcel 原生的读写方法，读回后保持原始类型（例如 int 不会变成 double）。
+ * 其它任意对象默认不支持，开启 {@link #setJsonFallbackEnabled(boolean)} 后才会用 Gson 转成 JSON 传输。
+ */
+public final class ParamCodec {
+    public static final int TYPE_NULL = 0;
+    public static final int TYPE_STRING = 1;
+    public static final int TYPE_INT = 2;
+    public static final int TYPE_LONG = 3;
+    public static final int TYPE_BOOLEAN = 4;
+    public static final int TYPE_DOUBLE = 5;
+    public static final int TYPE_FLOAT = 6;
+    public static final int TYPE_SHORT = 7;
+    public static final int TYPE_BYTE = 8;
+    public static final int TYPE_CHAR = 9;
+    public static final int TYPE_CHAR_SEQUENCE = 10;
+    public static final int TYPE_BUNDLE = 11;
+    public static final int TYPE_PARCELABLE = 12;
+    public static final int TYPE_SERIALIZABLE = 13;
+    public static final int TYPE_INT_ARRAY = 14;
+    public static final int TYPE_LONG_ARRAY = 15;
+    public static final int TYPE_BOOLEAN_ARRAY = 16;
+    public static final int TYPE_DOUBLE_ARRAY = 17;
+    public static final int TYPE_FLOAT_ARRAY = 18;
+    public static final int TYPE_BYTE_ARRAY = 19;
+    public static final int TYPE_CHAR_ARRAY = 20;
+    public static final int TYPE_STRING_ARRAY = 21;
+    public static final int TYPE_CHAR_SEQUENCE_ARRAY = 22;
+    public static final int TYPE_PARCELABLE_ARRAY = 23;
+    public static final int TYPE_LIST = 24;
+    public static final int TYPE_JSON = 25;
+    /**
+     * 不支持的类型，且未开启 JSON 兜底。
+     */
+    public static final int TYPE_UNSUPPORTED = -1;
+
+    private static final ClassLoader CLASS_LOADER = ParamCodec.class.getClassLoader();
+    // 精确类型 -> 类型标记；子类型第一次出现时解析并补充进来，之后同一个类只需一次查表
+    private static final Map<Class<?>, Integer> TYPES = new ConcurrentHashMap<>();
+    private static volatile boolean jsonFallbackEnabled;
+    private static volatile Gson gson;
+
+    static {
+        TYPES.put(String.class, TYPE_STRING);
+        TYPES.put(Integer.class, TYPE_INT);
+        TYPES.put(Long.class, TYPE_LONG);
+        TYPES.put(Boolean.class, TYPE_BOOLEAN);
+        TYPES.put(Double.class, TYPE_DOUBLE);
+        TYPES.put(Float.class, TYPE_FLOAT);
+        TYPES.put(Short.class, TYPE_SHORT);
+        TYPES.put(Byte.class, TYPE_BYTE);
+        TYPES.put(Character.class, TYPE_CHAR);
+        TYPES.put(Bundle.class, TYPE_BUNDLE);
+        TYPES.put(int[].class, TYPE_INT_ARRAY);
+        TYPES.put(long[].class, TYPE_LONG_ARRAY);
+        TYPES.put(boolean[].class, TYPE_BOOLEAN_ARRAY);
+        TYPES.put(double[].class, TYPE_DOUBLE_ARRAY);
+        TYPES.put(float[].class, TYPE_FLOAT_ARRAY);
+        TYPES.put(byte[].class, TYPE_BYTE_ARRAY);
+        TYPES.put(char[].class, TYPE_CHAR_ARRAY);
+        TYPES.put(String[].class, TYPE_STRING_ARRAY);
+        TYPES.put(CharSequence[].class, TYPE_CHAR_SEQUENCE_ARRAY);
+        TYPES.put(Parcelable[].class, TYPE_PARCELABLE_ARRAY);
+        TYPES.put(ArrayList.class, TYPE_LIST);
+    }
+
+    private ParamCodec() {
+    }
+
+    public static void setJsonFallbackEnabled(boolean enabled) {
+        jsonFallbackEnabled = enabled;
+    }
+
+    public static int typeOf(Object value) {
+        if (value == null) {
+            return TYPE_NULL;
+        }
+        Class<?> clazz = value.getClass();
+        Integer type = TYPES.get(clazz);
+        if (type == null) {
+            type = resolveType(clazz);
+            if (type == TYPE_UNSUPPORTED) {
+                // 是否支持取决于运行时开关，不缓存
+                return jsonFallbackEnabled ? TYPE_JSON : TYPE_UNSUPPORTED;
+            }
+            TYPES.put(clazz, type);
+        }
+        return type;
+    }
+
+    private static int resolveType(Class<?> clazz) {
+        // Bundle 本身是 Parcelable，精确类型已经在表里，这里只处理子类型
+        if (Parcelable.class.isAssignableFrom(clazz)) {
+            return TYPE_PARCELABLE;
+        }
+        if (CharSequence.class.isAssignableFrom(clazz)) {
+            return TYPE_CHAR_SEQUENCE;
+        }
+        if (clazz.isArray()) {
+            Class<?> component = clazz.getComponentType();
+            if (Parcelable.class.isAssignableFrom(component)) {
+                return TYPE_PARCELABLE_ARRAY;
+            }
+            if (CharSequence.class.isAssignableFrom(component)) {
+                return TYPE_CHAR_SEQUENCE_ARRAY;
+            }
+        }
+        if (List.class.isAssignableFrom(clazz)) {
+            return TYPE_LIST;
+        }
+        if (Serializable.class.isAssignableFrom(clazz)) {
+            return TYPE_SERIALIZABLE;
+        }
+        return TYPE_UNSUPPORTED;
+    }
+
+    public static void write(Parcel dest, Object value, int flags) {
+        int type = typeOf(value);
+        if (type == TYPE_UNSUPPORTED) {
+            throw new IllegalArgumentException("Unsupported route param type: " + value.getClass().getName()
+                    + ", enable the JSON fallback to transfer arbitrary objects.");
+        }
+        dest.writeInt(type);
+        switch (type) {
+            case TYPE_NULL:
+                break;
+            case TYPE_STRING:
+                dest.writeString((String) value);
+                break;
+            case TYPE_INT:
+                writeValue(dest, type, (Integer) value);
+                break;
+            case TYPE_LONG:
+                writeValue(dest, type, (Long) value);
+                break;
+            case TYPE_BOOLEAN:
+                writeValue(dest, type, (Boolean) value ? 1 : 0);
+                break;
+            case TYPE_DOUBLE:
+                writeValue(dest, type, Double.doubleToRawLongBits((Double) value));
+                break;
+            case TYPE_FLOAT:
+                writeValue(dest, type, Float.floatToRawIntBits((Float) value));
+                break;
+            case TYPE_SHORT:
+                writeValue(dest, type, (Short) value);
+                break;
+            case TYPE_BYTE:
+                writeValue(dest, type, (Byte) value);
+                break;
+            case TYPE_CHAR:
+                writeValue(dest, type, (Character) value);
+                break;
+            case TYPE_CHAR_SEQUENCE:
+                TextUtils.writeToParcel((CharSequence) value, dest, flags);
+                break;
+            case TYPE_BUNDLE:
+                dest.writeBundle((Bundle) value);
+                break;
+            case TYPE_PARCELABLE:
+                dest.writeParcelable((Parcelable) value, flags);
+                break;
+            case TYPE_SERIALIZABLE:
+                dest.writeSerializable((Serializable) value);
+                break;
+            case TYPE_INT_ARRAY:
+                dest.writeIntArray((int[]) value);
+                break;
+            case TYPE_LONG_ARRAY:
+                dest.writeLongArray((long[]) value);
+                break;
+            case TYPE_BOOLEAN_ARRAY:
+                dest.writeBooleanArray((boolean[]) value);
+                break;
+            case TYPE_DOUBLE_ARRAY:
+                dest.writeDoubleArray((double[]) value);
+                break;
+            case TYPE_FLOAT_ARRAY:
+                dest.writeFloatArray((float[]) value);
+                break;
+            case TYPE_BYTE_ARRAY:
+                dest.writeByteArray((byte[]) value);
+                break;
+            case TYPE_CHAR_ARRAY:
+                dest.writeCharArray((char[]) value);
+                break;
+            case TYPE_STRING_ARRAY:
+                dest.writeStringArray((String[]) value);
+                break;
+            case TYPE_CHAR_SEQUENCE_ARRAY: {
+                CharSequence[] array = (CharSequence[]) value;
+                dest.writeInt(array.length);
+                for (CharSequence item : array) {
+                    TextUtils.writeToParcel(item, dest, flags);
+                }
+                break;
+            }
+            case TYPE_PARCELABLE_ARRAY:
+                dest.writeParcelableArray((Parcelable[]) value, flags);
+                break;
+            case TYPE_LIST:
+                dest.writeList((List<?>) value);
+                break;
+            case TYPE_JSON:
+                dest.writeString(value.getClass().getName());
+                dest.writeString(getGson().toJson(value));
+                break;
+            default:
+                throw new IllegalStateException("Unknown route param type: " + type);
+        }
+    }
+
+    public static boolean isPrimitive(int type) {
+        return type >= TYPE_INT && type <= TYPE_CHAR;
+    }
+
+    /**
+     * 写入基本类型参数，{@code bits} 的编码方式与 {@link com.github.xrouter.RouteParams} 一致：
+     * 整数直接存放，boolean 为 0/1，double / float 为对应的原始位。
+     */
+    public static void writePrimitive(Parcel dest, int type, long bits) {
+        if (!isPrimitive(type)) {
+            throw new IllegalArgumentException("Not a primitive route param type: " + type);
+        }
+        dest.writeInt(type);
+        writeValue(dest, type, bits);
+    }
+
+    private static void writeValue(Parcel dest, int type, long bits) {
+        switch (type) {
+            case TYPE_LONG:
+                dest.writeLong(bits);
+                break;
+            case TYPE_DOUBLE:
+                dest.writeDouble(Double.longBitsToDouble(bits));
+                break;
+            case TYPE_FLOAT:
+                dest.writeFloat(Float.intBitsToFloat((int) bits));
+                break;
+            case TYPE_BYTE:
+                dest.writeByte((byte) bits);
+                break;
+            default:
+                // int / boolean / short / char 都按 int 写入
+                dest.writeInt((int) bits);
+                break;
+        }
+    }
+
+    public static Object read(Parcel in) {
+        int type = in.readInt();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return in.readString();
+            case TYPE_INT:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_BOOLEAN:
+                return in.readInt() != 0;
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_FLOAT:
+                return in.readFloat();
+            case TYPE_SHORT:
+                return (short) in.readInt();
+            case TYPE_BYTE:
+                return in.readByte();
+            case TYPE_CHAR:
+                return (char) in.readInt();
+            case TYPE_CHAR_SEQUENCE:
+                return TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(in);
+            case TYPE_BUNDLE:
+                return in.readBundle(CLASS_LOADER);
+            case TYPE_PARCELABLE:
+                return in.readParcelable(CLASS_LOADER);
+            case TYPE_SERIALIZABLE:
+                return in.readSerializable();
+            case TYPE_INT_ARRAY:
+                return in.createIntArray();
+            case TYPE_LONG_ARRAY:
+                return in.createLongArray();
+            case TYPE_BOOLEAN_ARRAY:
+                return in.createBooleanArray();
+            case TYPE_DOUBLE_ARRAY:
+                return in.createDoubleArray();
+            case TYPE_FLOAT_ARRAY:
+                return in.createFloatArray();
+            case TYPE_BYTE_ARRAY:
+                return in.createByteArray();
+            case TYPE_CHAR_ARRAY:
+                return in.createCharArray();
+            case TYPE_STRING_ARRAY:
+                return in.createStringArray();
+            case TYPE_CHAR_SEQUENCE_ARRAY: {
+                CharSequence[] array = new CharSequence[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(in);
+                }
+                return array;
+            }
+            case TYPE_PARCELABLE_ARRAY:
+                return in.readParcelableArray(CLASS_LOADER);
+            case TYPE_LIST:
+                return in.readArrayList(CLASS_LOADER);
+            case TYPE_JSON: {
+                String className = in.readString();
+                String json = in.readString();
+                try {
+                    return getGson().fromJson(json, Class.forName(className, true, CLASS_LOADER));
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Route param class not found: " + className, e);
+                }
+            }
+            default:
+                throw new IllegalStateException("Unknown route param type: " + type);
+        }
+    }
+
+    private static Gson getGson() {
+        Gson result = gson;
+        if (result == null) {
+            result = new Gson();
+            gson = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.xrouter.utils;
+
+import android.content.Intent;
+import android.os.Bundle;
+
+
+import com.github.core.annotation.Autowired;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ParameterInjector {
+    private static final Logger LOGGER = Logger.getLogger(ParameterInjector.class.getName());
+    private static final String INJECTOR_SUFFIX = "$$Injector";
+    private static final Map<Class<?>, Injector<Object>> INJECTORS = new ConcurrentHashMap<>();
+
+    public static void inject(Object target, Intent intent) {
+        Class<?> clazz = target.getClass();
+        Injector<Object> injector = INJECTORS.get(clazz);
+        if (injector == null) {
+            injector = findInjector(clazz);
+            INJECTORS.put(clazz, injector);
+        }
+        injector.inject(target, intent);
+    }
+
+    /**
+     * 参数类型与字段不一致时跳过这个字段，只记录警告，注入在 onCreate 中执行，不能让页面崩溃。生成的注入类也调用这个方法。
+     */
+    public static void reportTypeMismatch(Object target, String key, Object value) {
+        LOGGER.log(Level.WARNING, "Skipped param '" + key + "' of type " + value.getClass().getName()
+                + ", it does not match the field in " + target.getClass().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Injector<Object> findInjector(Class<?> clazz) {
+        try {
+            Class<?> injectorClass = Class.forName(clazz.getName() + INJECTOR_SUFFIX, true, clazz.getClassLoader());
+            return (Injector<Object>) injectorClass.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // 没有生成注入类的目标（例如未经过 APT 编译的第三方模块）走反射
+            return ReflectiveInjector.create(clazz);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            LOGGER.log(Level.WARNING, "Failed to create injector for " + clazz.getName(), e);
+            return ReflectiveInjector.create(clazz);
+        }
+    }
+
+    /**
+     * 反射注入的字段列表、键名和可访问性在创建时解析一次，之后每次注入只做取值和赋值。
+     */
+    private static final class ReflectiveInjector implements Injector<Object> {
+        private final Field[] fields;
+        // 字段类型，基本类型换成对应的包装类型
+        private final Class<?>[] types;
+        private final String[] keys;
+
+        private ReflectiveInjector(Field[] fields, String[] keys) {
+            this.fields = fields;
+            this.keys = keys;
+            types = new Class<?>[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                types[i] = boxed(fields[i].getType());
+            }
+        }
+
+        private static Class<?> boxed(Class<?> type) {
+            if (!type.isPrimitive()) {
+                return type;
+            }
+            if (type == int.class) {
+                return Integer.class;
+            }
+            if (type == long.class) {
+                return Long.class;
+            }
+            if (type == boolean.class) {
+                return Boolean.class;
+            }
+            if (type == double.class) {
+                return Double.class;
+            }
+            if (type == float.class) {
+                return Float.class;
+            }
+            if (type == short.class) {
+                return Short.class;
+            }
+            if (type == byte.class) {
+                return Byte.class;
+            }
+            return Character.class;
+        }
+
+        static ReflectiveInjector create(Class<?> clazz) {
+            List<Field> fields = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            for (Field field : clazz.getDeclaredFields()) {
+                Autowired autowired = field.getAnnotation(Autowired.class);
+                if (autowired == null) {
+                    continue;
+                }
+                String name = autowired.name();
+                if (name.isEmpty()) {
+                    name = field.getName();
+                }
+                field.setAccessible(true);
+                fields.add(field);
+                keys.add(name);
+            }
+            return new ReflectiveInjector(fields.toArray(new Field[0]), keys.toArray(new String[0]));
+        }
+
+        @Override
+        public void inject(Object target, Intent intent) {
+            if (fields.length == 0) {
+                return;
+            }
+            Bundle extras = intent.getExtras();
+            if (extras == null) {
+                return;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                Object value = extras.get(keys[i]);
+                if (value == null) {
+                    continue;
+                }
+                if (!types[i].isInstance(value)) {
+                    reportTypeMismatch(target, keys[i], value);
+                    continue;
+                }
+                try {
+                    fields[i].set(target, value);
+                } catch (IllegalAccessException e) {
+                    LOGGER.log(Level.WARNING, "Failed to inject " + fields[i], e);
+                }
+            }
+        }
+    }
+}
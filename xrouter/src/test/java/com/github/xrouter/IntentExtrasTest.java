@@ -0,0 +1,198 @@
+package com.github.xrouter;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 每种参数类型写入 Intent 时调用的 putExtra 重载，ArrayList 参数按全部元素的类型选择写入方式。
+ */
+public class IntentExtrasTest {
+
+    private static final class Item implements Parcelable {
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+        }
+    }
+
+    /**
+     * 记录每个键最后一次通过哪个方法、以什么静态类型写入。
+     */
+    private static final class RecordingIntent extends Intent {
+        final Map<String, String> calls = new LinkedHashMap<>();
+
+        private Intent record(String name, String call) {
+            calls.put(name, call);
+            return this;
+        }
+
+        @Override
+        public Intent putExtra(String name, String value) {
+            return record(name, "String");
+        }
+
+        @Override
+        public Intent putExtra(String name, int value) {
+            return record(name, "int");
+        }
+
+        @Override
+        public Intent putExtra(String name, long value) {
+            return record(name, "long");
+        }
+
+        @Override
+        public Intent putExtra(String name, char value) {
+            return record(name, "char");
+        }
+
+        @Override
+        public Intent putExtra(String name, CharSequence value) {
+            return record(name, "CharSequence");
+        }
+
+        @Override
+        public Intent putExtra(String name, Bundle value) {
+            return record(name, "Bundle");
+        }
+
+        @Override
+        public Intent putExtra(String name, Parcelable value) {
+            return record(name, "Parcelable");
+        }
+
+        @Override
+        public Intent putExtra(String name, Serializable value) {
+            return record(name, "Serializable");
+        }
+
+        @Override
+        public Intent putExtra(String name, int[] value) {
+            return record(name, "int[]");
+        }
+
+        @Override
+        public Intent putExtra(String name, CharSequence[] value) {
+            return record(name, "CharSequence[]");
+        }
+
+        @Override
+        public Intent putStringArrayListExtra(String name, ArrayList<String> value) {
+            return record(name, "StringArrayList");
+        }
+
+        @Override
+        public Intent putIntegerArrayListExtra(String name, ArrayList<Integer> value) {
+            return record(name, "IntegerArrayList");
+        }
+
+        @Override
+        public Intent putParcelableArrayListExtra(String name, ArrayList<? extends Parcelable> value) {
+            return record(name, "ParcelableArrayList");
+        }
+
+        @Override
+        public Intent putCharSequenceArrayListExtra(String name, ArrayList<CharSequence> value) {
+            return record(name, "CharSequenceArrayList");
+        }
+    }
+
+    private static Map<String, String> write(RouteRequest request) {
+        RecordingIntent intent = new RecordingIntent();
+        IntentExtras.putExtras(intent, request.getRouteParams());
+        return intent.calls;
+    }
+
+    private static int typeOf(Object... items) {
+        return IntentExtras.arrayListType(new ArrayList<>(Arrays.asList(items)));
+    }
+
+    @Test
+    public void uniformLists() {
+        assertEquals(IntentExtras.LIST_STRING, typeOf("a", "b"));
+        assertEquals(IntentExtras.LIST_INTEGER, typeOf(1, null, 2));
+        assertEquals(IntentExtras.LIST_PARCELABLE, typeOf(new Item(), new Item()));
+        assertEquals(IntentExtras.LIST_CHAR_SEQUENCE, typeOf(new StringBuilder("a"), "b"));
+    }
+
+    @Test
+    public void emptyOrNullOnlyListIsStringList() {
+        assertEquals(IntentExtras.LIST_STRING, IntentExtras.arrayListType(Collections.emptyList()));
+        assertEquals(IntentExtras.LIST_STRING, typeOf(null, null));
+    }
+
+    @Test
+    public void mixedListsAreDetectedPastTheFirstElement() {
+        assertEquals(IntentExtras.LIST_MIXED, typeOf("a", 1));
+        assertEquals(IntentExtras.LIST_MIXED, typeOf(1, 2, 3L));
+        assertEquals(IntentExtras.LIST_MIXED, typeOf(new Item(), "a"));
+        assertEquals(IntentExtras.LIST_MIXED, typeOf(null, "a", 1.0));
+    }
+
+    @Test
+    public void scalarsUseTypedOverloads() {
+        RouteRequest request = new RouteRequest("/extras", "extras")
+                .withString("string", "s")
+                .withInt("int", 1)
+                .withLong("long", 2L)
+                .withChar("char", 'c')
+                .withCharSequence("chars", new StringBuilder("sb"))
+                .withBundle("bundle", new Bundle())
+                .withParcelable("parcelable", new Item())
+                .withSerializable("date", new Date(0));
+        request.putParam("ints", new int[]{1});
+        request.putParam("charArray", new CharSequence[]{"a"});
+        request.putParam("nothing", null);
+
+        Map<String, String> calls = write(request);
+        assertEquals("String", calls.get("string"));
+        assertEquals("int", calls.get("int"));
+        assertEquals("long", calls.get("long"));
+        assertEquals("char", calls.get("char"));
+        assertEquals("CharSequence", calls.get("chars"));
+        assertEquals("Bundle", calls.get("bundle"));
+        assertEquals("Parcelable", calls.get("parcelable"));
+        assertEquals("Serializable", calls.get("date"));
+        assertEquals("int[]", calls.get("ints"));
+        assertEquals("CharSequence[]", calls.get("charArray"));
+        assertFalse(calls.containsKey("nothing"));
+    }
+
+    @Test
+    public void listsUseTypedOverloadsOnlyWhenUniform() {
+        RouteRequest request = new RouteRequest("/extras", "extras");
+        request.putParam("strings", new ArrayList<>(Arrays.asList("a", null, "b")));
+        request.putParam("integers", new ArrayList<>(Arrays.asList(1, 2)));
+        request.putParam("items", new ArrayList<>(Arrays.asList(new Item(), new Item())));
+        request.putParam("charSequences", new ArrayList<CharSequence>(Arrays.asList("a", new StringBuilder("b"))));
+        request.putParam("mixed", new ArrayList<>(Arrays.asList("a", 1)));
+        request.putParam("linked", new LinkedList<>(Arrays.asList("a", "b")));
+
+        Map<String, String> calls = write(request);
+        assertEquals("StringArrayList", calls.get("strings"));
+        assertEquals("IntegerArrayList", calls.get("integers"));
+        assertEquals("ParcelableArrayList", calls.get("items"));
+        assertEquals("CharSequenceArrayList", calls.get("charSequences"));
+        assertEquals("Serializable", calls.get("mixed"));
+        assertEquals("Serializable", calls.get("linked"));
+    }
+}
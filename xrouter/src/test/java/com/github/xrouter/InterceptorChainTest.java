@@ -0,0 +1,212 @@
+package com.github.xrouter;
+
+import com.github.xrouter.interceptor.AsyncRouteInterceptor;
+import com.github.xrouter.interceptor.InterceptorCallback;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * 拦截器链的放行、中断、改道与超时。
+ */
+public class InterceptorChainTest {
+
+    private InterceptorRegistry registry;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        registry = new InterceptorRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void add(AsyncRouteInterceptor interceptor, String... paths) {
+        registry.add(interceptor, 0, null, paths);
+    }
+
+    private AsyncRouteInterceptor[] chainFor(RouteRequest request) {
+        return registry.chainFor(request.getGroup(), request.getPath());
+    }
+
+    private boolean proceed(InterceptorChain chain, String path, boolean async) {
+        return chain.proceed(registry.chainFor("g", path), this::chainFor, async ? executor : null);
+    }
+
+    @Test
+    public void syncInterceptorsRunInlineInOrder() {
+        List<String> calls = new ArrayList<>();
+        registry.add(new InterceptorChain.SyncInterceptorAdapter(request -> {
+            calls.add("low");
+            return false;
+        }), 0, null, null);
+        registry.add(new InterceptorChain.SyncInterceptorAdapter(request -> {
+            calls.add("high");
+            return false;
+        }), 10, null, null);
+        RouteRequest request = new RouteRequest("/a", "g");
+        InterceptorChain chain = new InterceptorChain(request);
+
+        assertTrue(proceed(chain, "/a", false));
+        assertEquals(List.of("high", "low"), calls);
+        assertSame(request, chain.getRequest());
+    }
+
+    @Test
+    public void syncInterceptorAborts() {
+        add(new InterceptorChain.SyncInterceptorAdapter(request -> true));
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        assertFalse(proceed(chain, "/a", false));
+        assertNull(chain.getReason());
+    }
+
+    @Test
+    public void inlineCallbackContinuesWithReplacedRequest() {
+        RouteRequest replaced = new RouteRequest("/a", "g").withString("k", "v");
+        add((request, callback) -> callback.onContinue(replaced));
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        assertTrue(proceed(chain, "/a", false));
+        assertSame(replaced, chain.getRequest());
+    }
+
+    @Test
+    public void syncPathDoesNotWaitForLateCallbacks() {
+        AtomicReference<InterceptorCallback> saved = new AtomicReference<>();
+        add(new AsyncRouteInterceptor() {
+            @Override
+            public void intercept(RouteRequest request, InterceptorCallback callback) {
+                saved.set(callback);
+            }
+
+            @Override
+            public long getTimeoutMillis() {
+                return TimeUnit.MINUTES.toMillis(1);
+            }
+        });
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        long start = System.nanoTime();
+        assertFalse(proceed(chain, "/a", false));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(chain.getReason() instanceof IllegalStateException);
+        // 迟到的回调不会改变结果
+        saved.get().onContinue(null);
+        assertTrue(chain.getReason() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void rerouteRestartsWithTheNewPathsChain() {
+        List<String> calls = new ArrayList<>();
+        add((request, callback) -> {
+            calls.add("login");
+            callback.onReroute(new RouteRequest("/login", "g"));
+        }, "/user/**");
+        add((request, callback) -> {
+            calls.add("all " + request.getPath());
+            callback.onContinue(request);
+        });
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/user/detail", "g"));
+
+        assertTrue(proceed(chain, "/user/detail", false));
+        assertEquals("/login", chain.getRequest().getPath());
+        assertEquals(List.of("login", "all /login"), calls);
+    }
+
+    @Test
+    public void rerouteLoopIsAborted() {
+        add((request, callback) -> callback.onReroute(new RouteRequest("/loop", "g")));
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/loop", "g"));
+
+        assertFalse(proceed(chain, "/loop", false));
+        assertTrue(chain.getReason() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void nullRerouteAborts() {
+        add((request, callback) -> callback.onReroute(null));
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        assertFalse(proceed(chain, "/a", true));
+        assertTrue(chain.getReason() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void asyncPathWaitsForCallbackFromAnotherThread() {
+        add((request, callback) -> new Thread(() -> callback.onContinue(request)).start());
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        assertTrue(proceed(chain, "/a", true));
+    }
+
+    @Test
+    public void asyncPathTimesOutInterceptorBlockedInsideIntercept() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch returned = new CountDownLatch(1);
+        add(new AsyncRouteInterceptor() {
+            @Override
+            public void intercept(RouteRequest request, InterceptorCallback callback) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                callback.onContinue(request);
+                returned.countDown();
+            }
+
+            @Override
+            public long getTimeoutMillis() {
+                return 50;
+            }
+        });
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        assertFalse(proceed(chain, "/a", true));
+        assertTrue(chain.getReason() instanceof TimeoutException);
+        release.countDown();
+        assertTrue(returned.await(5, TimeUnit.SECONDS));
+        assertTrue(chain.getReason() instanceof TimeoutException);
+    }
+
+    @Test
+    public void asyncPathAbortsWhenInterceptorThrows() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        add((request, callback) -> {
+            throw failure;
+        });
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        assertFalse(proceed(chain, "/a", true));
+        assertSame(failure, chain.getReason());
+    }
+
+    @Test
+    public void rejectedExecutionAborts() {
+        add((request, callback) -> callback.onContinue(request));
+        InterceptorChain chain = new InterceptorChain(new RouteRequest("/a", "g"));
+
+        assertFalse(chain.proceed(registry.chainFor("g", "/a"), this::chainFor, command -> {
+            throw new RejectedExecutionException();
+        }));
+        assertTrue(chain.getReason() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.xrouter;
+
+import com.github.xrouter.interceptor.AsyncRouteInterceptor;
+import com.github.xrouter.interceptor.InterceptorCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 拦截器的优先级排序、分组与路径筛选，以及拦截器链缓存。
+ */
+public class InterceptorRegistryTest {
+
+    private static final class Named implements AsyncRouteInterceptor {
+        final String name;
+
+        Named(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void intercept(RouteRequest request, InterceptorCallback callback) {
+            callback.onContinue(request);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private InterceptorRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new InterceptorRegistry();
+    }
+
+    private static String names(AsyncRouteInterceptor[] chain) {
+        StringBuilder builder = new StringBuilder();
+        for (AsyncRouteInterceptor interceptor : chain) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(interceptor);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void higherPriorityRunsFirstAndTiesKeepInsertionOrder() {
+        registry.add(new Named("a0"), 0, null, null);
+        registry.add(new Named("b5"), 5, null, null);
+        registry.add(new Named("c0"), 0, null, null);
+        registry.add(new Named("d-1"), -1, null, null);
+        registry.add(new Named("e5"), 5, null, null);
+
+        assertEquals("b5,e5,a0,c0,d-1", names(registry.chainFor("g", "/a")));
+    }
+
+    @Test
+    public void groupAndPathScopes() {
+        registry.add(new Named("all"), 0, null, null);
+        registry.add(new Named("user"), 0, new String[]{"user"}, null);
+        registry.add(new Named("exact"), 0, null, new String[]{"/user/detail"});
+        registry.add(new Named("prefix"), 0, null, new String[]{"/user/**"});
+
+        assertEquals("all,user,exact,prefix", names(registry.chainFor("user", "/user/detail")));
+        assertEquals("all,user,prefix", names(registry.chainFor("user", "/user")));
+        assertEquals("all", names(registry.chainFor("shop", "/users")));
+        assertEquals("all,exact,prefix", names(registry.chainFor(null, "/user/detail?id=1#top")));
+        assertEquals("all", names(registry.chainFor(null, null)));
+    }
+
+    @Test
+    public void emptyRegistryReturnsEmptyChain() {
+        assertEquals(0, registry.chainFor("g", "/a").length);
+    }
+
+    @Test
+    public void chainsAreCachedUntilTheNextAdd() {
+        registry.add(new Named("first"), 0, null, null);
+        AsyncRouteInterceptor[] chain = registry.chainFor("g", "/a");
+        assertSame(chain, registry.chainFor("g", "/a"));
+
+        registry.add(new Named("second"), 1, null, null);
+        assertEquals("second,first", names(registry.chainFor("g", "/a")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullInterceptorIsRejected() {
+        registry.add(null, 0, null, null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.xrouter;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Lazy 只缓存创建成功的实例，null 和异常都会在下一次 get 时重试。
+ */
+public class LazyTest {
+
+    @Test
+    public void createsOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<Object> lazy = Lazy.of(() -> {
+            calls.incrementAndGet();
+            return new Object();
+        });
+        assertFalse(lazy.isInitialized());
+
+        Object first = lazy.get();
+        assertTrue(lazy.isInitialized());
+        assertSame(first, lazy.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void nullIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> calls.incrementAndGet() < 3 ? null : "ready");
+
+        assertNull(lazy.get());
+        assertFalse(lazy.isInitialized());
+        assertNull(lazy.get());
+        assertEquals("ready", lazy.get());
+        assertTrue(lazy.isInitialized());
+        assertEquals("ready", lazy.get());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void failureIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("not ready");
+            }
+            return "ready";
+        });
+
+        try {
+            lazy.get();
+            fail();
+        } catch (IllegalStateException expected) {
+            assertFalse(lazy.isInitialized());
+        }
+        assertEquals("ready", lazy.get());
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.xrouter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 路由缓存的命中统计、按最近访问淘汰与按代次失效。
+ */
+public class RouteCacheTest {
+
+    @Test
+    public void cachesHitsAndMisses() {
+        RouteCache cache = new RouteCache(4);
+        assertNull(cache.get("user", "/user/detail"));
+        cache.put("user", "/user/detail", String.class, cache.generation());
+        cache.put("user", "/user/missing", null, cache.generation());
+
+        assertSame(String.class, cache.get("user", "/user/detail").getTarget());
+        RouteCache.Entry missing = cache.get("user", "/user/missing");
+        assertNotNull(missing);
+        assertNull(missing.getTarget());
+        assertNull(cache.get(null, "/user/detail"));
+
+        RouteCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getNegativeHitCount());
+        assertEquals(2, stats.getMissCount());
+    }
+
+    @Test
+    public void firstPutWins() {
+        RouteCache cache = new RouteCache(4);
+        cache.put("g", "/g/a", String.class, cache.generation());
+        cache.put("g", "/g/a", Integer.class, cache.generation());
+        assertSame(String.class, cache.get("g", "/g/a").getTarget());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        RouteCache cache = new RouteCache(3);
+        cache.put("g", "/g/a", String.class, cache.generation());
+        cache.put("g", "/g/b", String.class, cache.generation());
+        cache.put("g", "/g/c", String.class, cache.generation());
+        // 访问 a 之后最久未访问的是 b
+        assertNotNull(cache.get("g", "/g/a"));
+        cache.put("g", "/g/d", String.class, cache.generation());
+
+        assertNull(cache.get("g", "/g/b"));
+        assertNotNull(cache.get("g", "/g/a"));
+        assertNotNull(cache.get("g", "/g/c"));
+        assertNotNull(cache.get("g", "/g/d"));
+        assertEquals(1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void capacityOfOneKeepsTheLatestEntry() {
+        RouteCache cache = new RouteCache(1);
+        for (int i = 0; i < 10; i++) {
+            cache.put("g", "/g/" + i, String.class, cache.generation());
+        }
+        assertNotNull(cache.get("g", "/g/9"));
+        assertNull(cache.get("g", "/g/8"));
+        assertEquals(9, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void clearInvalidatesEntries() {
+        RouteCache cache = new RouteCache(4);
+        cache.put("g", "/g/a", String.class, cache.generation());
+        cache.clear();
+        assertNull(cache.get("g", "/g/a"));
+    }
+
+    @Test
+    public void staleGenerationIsNotWritten() {
+        RouteCache cache = new RouteCache(4);
+        long generation = cache.generation();
+        // 解析期间注册了新路由
+        cache.clear();
+        cache.put("g", "/g/a", null, generation);
+        assertNull(cache.get("g", "/g/a"));
+
+        cache.put("g", "/g/a", String.class, cache.generation());
+        assertSame(String.class, cache.get("g", "/g/a").getTarget());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveCapacity() {
+        new RouteCache(0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.xrouter;
+
+import com.github.core.AbstractRouteTable;
+import com.github.core.RouteMeta;
+import com.github.core.RouteRoot;
+import com.github.core.RouteTable;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * 通过 META-INF/services 注册的 RouteRoot 建立分组索引，同一分组来自多个模块时合并为一个路由表。
+ */
+public class RouteRegistryTest {
+
+    public static class FirstActivity {
+    }
+
+    public static class SecondActivity {
+    }
+
+    public static class LegacyActivity {
+    }
+
+    private static final class SingleTable extends AbstractRouteTable {
+        private final Class<?> target;
+
+        SingleTable(String path, Class<?> target) {
+            super(path);
+            this.target = target;
+        }
+
+        @Override
+        protected Class<?> loadTarget(int index) {
+            return target;
+        }
+    }
+
+    public static final class FirstRoot implements RouteRoot {
+        @Override
+        public String[] getGroups() {
+            return new String[]{"registry", "registry_first", "registry_legacy"};
+        }
+
+        @Override
+        public RouteTable createRouteTable(String group) {
+            switch (group) {
+                case "registry":
+                    return new SingleTable("/registry/first", FirstActivity.class);
+                case "registry_first":
+                    return new SingleTable("/registry_first/page", FirstActivity.class);
+                case "registry_legacy":
+                    // 只实现 getRouteMap 的旧路由表
+                    return () -> Collections.singletonMap("/registry_legacy/page", LegacyActivity.class);
+                default:
+                    return null;
+            }
+        }
+    }
+
+    public static final class SecondRoot implements RouteRoot {
+        @Override
+        public String[] getGroups() {
+            return new String[]{"registry"};
+        }
+
+        @Override
+        public RouteTable createRouteTable(String group) {
+            return "registry".equals(group) ? new SingleTable("/registry/second", SecondActivity.class) : null;
+        }
+    }
+
+    @Test
+    public void groupsFromEveryRoot() {
+        assertTrue(new HashSet<>(Arrays.asList(RouteRegistry.getGroups()))
+                .containsAll(Arrays.asList("registry", "registry_first", "registry_legacy")));
+    }
+
+    @Test
+    public void unknownGroupHasNoTable() {
+        assertNull(RouteRegistry.getRouteTable("registry_missing"));
+    }
+
+    @Test
+    public void tableIsCreatedOnce() {
+        assertSame(RouteRegistry.getRouteTable("registry_first"), RouteRegistry.getRouteTable("registry_first"));
+    }
+
+    @Test
+    public void sharedGroupIsMerged() {
+        RouteTable table = RouteRegistry.getRouteTable("registry");
+        assertEquals(2, table.getRoutes().length);
+        assertSame(FirstActivity.class, table.getRouteIndex().match("/registry/first").getTarget());
+        assertSame(SecondActivity.class, table.getRouteIndex().match("/registry/second/42").getTarget());
+    }
+
+    @Test
+    public void legacyTableIndexIsCached() {
+        RouteTable table = RouteRegistry.getRouteTable("registry_legacy");
+        assertSame(table.getRouteIndex(), table.getRouteIndex());
+        RouteMeta route = table.getRouteIndex().match("/registry_legacy/page");
+        assertSame(LegacyActivity.class, route.getTarget());
+    }
+}
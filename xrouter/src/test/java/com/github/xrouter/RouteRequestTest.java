@@ -0,0 +1,158 @@
+package com.github.xrouter;
+
+import com.github.xrouter.utils.ParamCodec;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 请求对象池的回收规则与参数的类型化存储。
+ */
+public class RouteRequestTest {
+
+    @Test
+    public void recycledRequestIsReused() {
+        RouteRequest request = RouteRequest.obtain("/pool/a", "pool").withInt("id", 1);
+        request.recycle();
+
+        RouteRequest reused = RouteRequest.obtain("/pool/b", "pool");
+        assertSame(request, reused);
+        assertEquals("/pool/b", reused.getPath());
+        assertEquals(0, reused.getRouteParams().size());
+        reused.recycle();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void doubleRecycleThrows() {
+        RouteRequest request = RouteRequest.obtain("/pool/a", "pool");
+        request.recycle();
+        request.recycle();
+    }
+
+    @Test
+    public void doubleRecycleDoesNotCorruptPool() {
+        RouteRequest request = RouteRequest.obtain("/pool/a", "pool");
+        request.recycle();
+        try {
+            request.recycle();
+            fail();
+        } catch (IllegalStateException expected) {
+            // 第二次回收被拒绝，池中只有一份
+        }
+        RouteRequest first = RouteRequest.obtain("/pool/1", "pool");
+        RouteRequest second = RouteRequest.obtain("/pool/2", "pool");
+        assertNotSame(first, second);
+        first.recycle();
+        second.recycle();
+    }
+
+    @Test
+    public void constructedRequestIsNotPooled() {
+        RouteRequest request = new RouteRequest("/pool/new", "pool").withString("name", "x");
+        request.recycle();
+        request.recycle();
+        // 没有进入对象池，内容也不会被清空
+        assertEquals("/pool/new", request.getPath());
+        assertEquals(1, request.getRouteParams().size());
+        RouteRequest obtained = RouteRequest.obtain("/pool/other", "pool");
+        assertNotSame(request, obtained);
+        obtained.recycle();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void recycleDuringAsyncNavigationThrows() {
+        RouteRequest request = RouteRequest.obtain("/pool/a", "pool");
+        request.beginNavigation();
+        request.recycle();
+    }
+
+    @Test
+    public void recycleAfterAsyncNavigation() {
+        RouteRequest request = RouteRequest.obtain("/pool/a", "pool");
+        request.beginNavigation();
+        request.endNavigation();
+        request.recycle();
+        try {
+            request.beginNavigation();
+            fail();
+        } catch (IllegalStateException expected) {
+            // 已回收的请求不能再跳转
+        }
+        RouteRequest.obtain("/pool/b", "pool").recycle();
+    }
+
+    @Test
+    public void paramsSnapshotIsReadOnly() {
+        RouteRequest request = new RouteRequest("/params", "params").withInt("id", 7);
+        Map<String, Object> params = request.getParams();
+        assertEquals(7, params.get("id"));
+        try {
+            params.put("name", "x");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+            // 修改需要通过 putParam
+        }
+        request.putParam("name", "x");
+        assertEquals("x", request.getParams().get("name"));
+    }
+
+    @Test
+    public void primitivesAreStoredUnboxed() {
+        RouteParams params = new RouteParams();
+        params.putInt("int", -1);
+        params.putLong("long", Long.MAX_VALUE);
+        params.putBoolean("bool", true);
+        params.putDouble("double", -0.0);
+        params.putFloat("float", Float.NaN);
+        params.putShort("short", Short.MIN_VALUE);
+        params.putByte("byte", (byte) -2);
+        params.putChar("char", 'z');
+
+        assertEquals(-1, params.getIntAt(params.indexOfKey("int")));
+        assertEquals(Long.MAX_VALUE, params.getLongAt(params.indexOfKey("long")));
+        assertTrue(params.getBooleanAt(params.indexOfKey("bool")));
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+                Double.doubleToRawLongBits(params.getDoubleAt(params.indexOfKey("double"))));
+        assertTrue(Float.isNaN(params.getFloatAt(params.indexOfKey("float"))));
+        assertEquals(Short.MIN_VALUE, params.getShortAt(params.indexOfKey("short")));
+        assertEquals(-2, params.getByteAt(params.indexOfKey("byte")));
+        assertEquals('z', params.getCharAt(params.indexOfKey("char")));
+        assertEquals(ParamCodec.TYPE_SHORT, params.typeAt(params.indexOfKey("short")));
+        assertEquals(Short.MIN_VALUE, params.valueAt(params.indexOfKey("short")));
+    }
+
+    @Test
+    public void boxedValuesAreUnboxedAndKeysOverwritten() {
+        RouteParams params = new RouteParams();
+        params.putObject("id", 5L);
+        assertEquals(ParamCodec.TYPE_LONG, params.typeAt(0));
+        params.putObject("id", "five");
+        assertEquals(1, params.size());
+        assertEquals(ParamCodec.TYPE_STRING, params.typeAt(0));
+        assertEquals("five", params.valueAt(0));
+    }
+
+    @Test
+    public void removeKeepsInsertionOrder() {
+        RouteParams params = new RouteParams();
+        for (int i = 0; i < 6; i++) {
+            params.putInt("k" + i, i);
+        }
+        params.remove("k2");
+        params.remove("missing");
+        assertEquals(5, params.size());
+        assertEquals("k3", params.keyAt(2));
+        assertEquals(3, params.getIntAt(2));
+        assertEquals(-1, params.indexOfKey("k2"));
+        params.clear();
+        assertEquals(0, params.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullKeyIsRejected() {
+        new RouteParams().putInt(null, 1);
+    }
+}
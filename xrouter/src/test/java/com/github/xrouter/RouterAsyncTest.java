@@ -0,0 +1,142 @@
+package com.github.xrouter;
+
+import android.content.ContextWrapper;
+import android.content.Intent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * 异步跳转的请求生命周期。假实现的 Handler 在调用线程上直接执行 post 的任务。
+ */
+public class RouterAsyncTest {
+
+    public static class TargetActivity {
+    }
+
+    private static final class RecordingContext extends ContextWrapper {
+        final List<Intent> started = new ArrayList<>();
+
+        RecordingContext() {
+            super(null);
+        }
+
+        @Override
+        public void startActivity(Intent intent) {
+            started.add(intent);
+        }
+    }
+
+    private static final class QueueExecutor implements Executor {
+        final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    private static final class RecordingCallback implements NavigationCallback {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onArrival(RouteRequest request) {
+            events.add("arrival " + request.getPath());
+        }
+
+        @Override
+        public void onLost(RouteRequest request) {
+            events.add("lost " + request.getPath());
+        }
+
+        @Override
+        public void onInterrupt(RouteRequest request, Throwable reason) {
+            events.add("interrupt " + request.getPath());
+        }
+    }
+
+    private RecordingContext context;
+    private QueueExecutor executor;
+    private Router router;
+
+    @Before
+    public void setUp() {
+        context = new RecordingContext();
+        executor = new QueueExecutor();
+        router = new Router(context);
+        router.setInterceptorExecutor(executor);
+        router.registerRoute("/async/target", TargetActivity.class);
+    }
+
+    @Test
+    public void requestCannotBeRecycledBeforeCallback() {
+        RecordingCallback callback = new RecordingCallback();
+        RouteRequest request = RouteRequest.obtain("/async/target", "async");
+        router.navigateAsync(request, callback);
+        try {
+            request.recycle();
+            fail();
+        } catch (IllegalStateException expected) {
+            // 拦截线程还会读取这个请求
+        }
+
+        executor.runAll();
+        assertEquals("[arrival /async/target]", callback.events.toString());
+        assertEquals(1, context.started.size());
+        request.recycle();
+    }
+
+    @Test
+    public void requestIsReleasedOnLost() {
+        RecordingCallback callback = new RecordingCallback();
+        RouteRequest request = RouteRequest.obtain("/async/missing", "async");
+        router.navigateAsync(request, callback);
+        executor.runAll();
+        assertEquals("[lost /async/missing]", callback.events.toString());
+        request.recycle();
+    }
+
+    @Test
+    public void requestIsReleasedWithoutCallback() {
+        RouteRequest request = RouteRequest.obtain("/async/target", "async");
+        router.navigateAsync(request, null);
+        executor.runAll();
+        request.recycle();
+    }
+
+    @Test
+    public void requestIsReleasedWhenExecutorRejects() {
+        router.setInterceptorExecutor(command -> {
+            throw new RejectedExecutionException();
+        });
+        RouteRequest request = RouteRequest.obtain("/async/target", "async");
+        try {
+            router.navigateAsync(request, new RecordingCallback());
+            fail();
+        } catch (RejectedExecutionException expected) {
+            request.recycle();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void recycledRequestCannotBeNavigated() {
+        RouteRequest request = RouteRequest.obtain("/async/target", "async");
+        request.recycle();
+        router.navigateAsync(request, new RecordingCallback());
+    }
+}
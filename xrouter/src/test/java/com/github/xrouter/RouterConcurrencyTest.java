@@ -0,0 +1,109 @@
+package com.github.xrouter;
+
+import android.content.ContextWrapper;
+import android.content.Intent;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 并发执行 navigate / registerRoute / unregisterRoute / addInterceptor，验证路由注册表不会抛出并发异常。
+ */
+public class RouterConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 20_000;
+    private static final int PATHS = 32;
+
+    public static class TargetActivity {
+    }
+
+    private static final class CountingContext extends ContextWrapper {
+        final AtomicInteger started = new AtomicInteger();
+
+        CountingContext() {
+            super(null);
+        }
+
+        @Override
+        public void startActivity(Intent intent) {
+            started.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void navigateWhileRegistering() throws Exception {
+        CountingContext context = new CountingContext();
+        Router router = new Router(context);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String path = "/stress/" + random.nextInt(PATHS);
+                        int action = random.nextInt(10);
+                        if (thread == 0 && i % 1000 == 0) {
+                            router.addInterceptor(request -> false);
+                        } else if (action < 2) {
+                            router.registerRoute(path, TargetActivity.class);
+                        } else if (action < 3) {
+                            router.unregisterRoute(path);
+                        } else {
+                            RouteRequest request = RouteRequest.obtain(path, "stress")
+                                    .withInt("index", i);
+                            // 拦截器都放行，navigate 返回 false 说明内部出现了异常
+                            if (!router.navigate(request)) {
+                                rejected.incrementAndGet();
+                            }
+                            request.recycle();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(0, rejected.get());
+
+        // 并发结束后注册全部路径，每个路径都必须解析到新注册的目标
+        for (int i = 0; i < PATHS; i++) {
+            router.registerRoute("/stress/" + i, TargetActivity.class);
+        }
+        int before = context.started.get();
+        for (int i = 0; i < PATHS; i++) {
+            assertTrue(router.navigate(new RouteRequest("/stress/" + i, "stress")));
+        }
+        assertEquals(PATHS, context.started.get() - before);
+
+        // 注销后必须全部失效，不能命中旧的缓存
+        for (int i = 0; i < PATHS; i++) {
+            router.unregisterRoute("/stress/" + i);
+        }
+        before = context.started.get();
+        for (int i = 0; i < PATHS; i++) {
+            assertTrue(router.navigate(new RouteRequest("/stress/" + i, "stress")));
+        }
+        assertEquals(0, context.started.get() - before);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.xrouter;
+
+import android.content.ContextWrapper;
+
+import com.github.core.RouterService;
+import com.github.core.annotation.Service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 只实现了 {@link RouterService#newServiceInstance(String, Class[], Object...)} 的旧提供者仍然可用，测试用的提供者通过 ServiceLoader 注册。
+ */
+public class RouterServiceTest {
+
+    public static class Greeter {
+        final String name;
+
+        public Greeter() {
+            this("world");
+        }
+
+        public Greeter(String name) {
+            this.name = name;
+        }
+    }
+
+    public static final class LegacyRouterService implements RouterService {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T newServiceInstance(String path, Class<?>[] parameterTypes, Object... initargs) {
+            if (!"/legacy/greeter".equals(path)) {
+                return null;
+            }
+            if (parameterTypes == null || parameterTypes.length == 0) {
+                return (T) new Greeter();
+            }
+            return (T) new Greeter((String) initargs[0]);
+        }
+    }
+
+    private Router router;
+
+    @Before
+    public void setUp() {
+        router = new Router(new ContextWrapper(null));
+    }
+
+    @Test
+    public void defaultsDescribeAnUnindexedPrototypeProvider() {
+        RouterService provider = new LegacyRouterService();
+        assertEquals(0, provider.getServicePaths().length);
+        assertEquals(Service.Scope.PROTOTYPE, provider.getScope("/legacy/greeter"));
+        Greeter greeter = provider.newServiceInstance("/legacy/greeter");
+        assertEquals("world", greeter.name);
+    }
+
+    @Test
+    public void unindexedProvidersAreProbed() {
+        Greeter first = router.getService("/legacy/greeter");
+        Greeter second = router.getService("/legacy/greeter");
+        assertEquals("world", first.name);
+        assertNotSame(first, second);
+
+        Greeter named = router.getService("/legacy/greeter", new Class<?>[]{String.class}, new Object[]{"xrouter"});
+        assertEquals("xrouter", named.name);
+    }
+
+    @Test
+    public void unknownPathReturnsNull() {
+        assertNull(router.getService("/legacy/missing"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.xrouter;
+
+import android.content.ContextWrapper;
+import android.content.Intent;
+
+import com.github.core.RouteKey;
+import com.github.core.UriMatcher;
+import com.github.core.UriTable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 按 URI 跳转只匹配一次，不经过路由缓存，拦截器按目标页面的路由选择。测试用的 URI 模板通过 ServiceLoader 注册。
+ */
+public class RouterUriTest {
+
+    public static class UserActivity {
+    }
+
+    public static class LoginActivity {
+    }
+
+    public static final class TestUriTable implements UriTable {
+        @Override
+        public void loadInto(UriMatcher.Builder<Class<?>> builder) {
+            builder.add("app://user/{id:int}", UserActivity.class);
+            builder.add("app://account/sign-in", LoginActivity.class);
+        }
+
+        @Override
+        public void loadRoutesInto(Map<Class<?>, RouteKey> routes) {
+            routes.put(LoginActivity.class, new RouteKey("account", "/login"));
+        }
+    }
+
+    private static final class RecordingContext extends ContextWrapper {
+        final List<Intent> started = new ArrayList<>();
+
+        RecordingContext() {
+            super(null);
+        }
+
+        @Override
+        public void startActivity(Intent intent) {
+            started.add(intent);
+        }
+    }
+
+    private RecordingContext context;
+    private Router router;
+
+    @Before
+    public void setUp() {
+        context = new RecordingContext();
+        router = new Router(context);
+    }
+
+    @Test
+    public void pathAndQueryParamsReachTheIntent() {
+        assertTrue(router.navigate("app://user/42?from=push"));
+
+        Intent intent = context.started.get(0);
+        assertEquals(UserActivity.class.getName(), intent.getComponent().getClassName());
+        assertEquals(42, intent.getExtras().get("id"));
+        assertEquals("push", intent.getExtras().get("from"));
+    }
+
+    @Test
+    public void uriNavigationsBypassTheRouteCache() {
+        router.registerRoute("/home", LoginActivity.class);
+        assertTrue(router.navigate(new RouteRequest("/home", "main")));
+        for (int id = 0; id < 200; id++) {
+            assertTrue(router.navigate("app://user/" + id));
+        }
+        assertFalse(router.navigate("app://nowhere/1"));
+
+        // 深链既不查缓存也不写缓存，分组路由的条目不会被挤掉
+        assertTrue(router.navigate(new RouteRequest("/home", "main")));
+        RouteCache.Stats stats = router.getRouteCacheStats();
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(0, stats.getEvictionCount());
+        assertEquals(202, context.started.size());
+    }
+
+    @Test
+    public void dynamicRouteForTheExactUriWins() {
+        router.registerRoute("app://user/7", LoginActivity.class);
+
+        assertTrue(router.navigate("app://user/7"));
+        assertTrue(router.navigate("app://user/8"));
+        assertEquals(LoginActivity.class.getName(), context.started.get(0).getComponent().getClassName());
+        assertEquals(UserActivity.class.getName(), context.started.get(1).getComponent().getClassName());
+    }
+
+    @Test
+    public void reroutedUriNavigationResolvesTheNewRequest() {
+        router.registerRoute("/login", LoginActivity.class);
+        router.addInterceptor((request, callback) -> {
+            if (request.getPath().startsWith("app://")) {
+                callback.onReroute(new RouteRequest("/login", "account"));
+            } else {
+                callback.onContinue(request);
+            }
+        });
+
+        assertTrue(router.navigate("app://user/42"));
+        assertEquals(LoginActivity.class.getName(), context.started.get(0).getComponent().getClassName());
+    }
+
+    @Test
+    public void pathInterceptorsMatchTheHostAndPathOfTheUri() {
+        List<String> seen = new ArrayList<>();
+        router.addInterceptor(request -> {
+            seen.add(request.getPath());
+            return true;
+        }, 0, "/user/**");
+
+        assertFalse(router.navigate("app://user/42?from=push"));
+        assertEquals("[app://user/42?from=push]", seen.toString());
+        assertTrue(context.started.isEmpty());
+    }
+
+    @Test
+    public void interceptorsUseTheRouteOfTheUriTarget() {
+        List<String> seen = new ArrayList<>();
+        router.addGroupInterceptor(request -> {
+            seen.add("group");
+            return false;
+        }, 0, "account");
+        router.addInterceptor(request -> {
+            seen.add("path");
+            return false;
+        }, 0, "/login");
+        router.addInterceptor(request -> {
+            seen.add("uri path");
+            return false;
+        }, 0, "/account/**");
+
+        assertTrue(router.navigate("app://account/sign-in"));
+        assertEquals("[group, path]", seen.toString());
+        assertEquals(LoginActivity.class.getName(), context.started.get(0).getComponent().getClassName());
+    }
+
+    @Test
+    public void reroutedUriRequestsUseTheRouteOfTheirTarget() {
+        router.registerRoute("/home", UserActivity.class);
+        router.addInterceptor((request, callback) ->
+                callback.onReroute(new RouteRequest("app://account/sign-in", null)), 0, "/home");
+        List<String> seen = new ArrayList<>();
+        router.addGroupInterceptor(request -> {
+            seen.add(request.getPath());
+            return true;
+        }, 0, "account");
+
+        assertFalse(router.navigate(new RouteRequest("/home", "main")));
+        assertEquals("[app://account/sign-in]", seen.toString());
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.xrouter.utils;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+/**
+ * 每种参数类型写入 Parcel 再读回，类型和值保持不变。
+ */
+public class ParamCodecTest {
+
+    public static final class Point {
+        int x;
+        int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && ((Point) o).x == x && ((Point) o).y == y;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x, y);
+        }
+    }
+
+    public static final class Token implements Parcelable {
+        public static final Creator<Token> CREATOR = new Creator<Token>() {
+            @Override
+            public Token createFromParcel(Parcel source) {
+                return new Token(source.readString());
+            }
+
+            @Override
+            public Token[] newArray(int size) {
+                return new Token[size];
+            }
+        };
+
+        final String value;
+
+        Token(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            dest.writeString(value);
+        }
+    }
+
+    @After
+    public void disableJsonFallback() {
+        ParamCodec.setJsonFallbackEnabled(false);
+    }
+
+    private static Object roundTrip(Object value) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            ParamCodec.write(parcel, value, 0);
+            parcel.setDataPosition(0);
+            return ParamCodec.read(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static void assertRoundTrip(Object value, int type) {
+        assertEquals(type, ParamCodec.typeOf(value));
+        Object result = roundTrip(value);
+        assertEquals(value.getClass(), result.getClass());
+        assertEquals(value, result);
+    }
+
+    @Test
+    public void primitivesKeepTheirType() {
+        assertRoundTrip(42, ParamCodec.TYPE_INT);
+        assertRoundTrip(Long.MIN_VALUE, ParamCodec.TYPE_LONG);
+        assertRoundTrip(true, ParamCodec.TYPE_BOOLEAN);
+        assertRoundTrip(Double.NaN, ParamCodec.TYPE_DOUBLE);
+        assertRoundTrip(-0.5f, ParamCodec.TYPE_FLOAT);
+        assertRoundTrip((short) -7, ParamCodec.TYPE_SHORT);
+        assertRoundTrip((byte) 0x80, ParamCodec.TYPE_BYTE);
+        assertRoundTrip('\uFFFF', ParamCodec.TYPE_CHAR);
+    }
+
+    @Test
+    public void primitiveBitsMatchRouteParams() {
+        Parcel parcel = Parcel.obtain();
+        ParamCodec.writePrimitive(parcel, ParamCodec.TYPE_DOUBLE, Double.doubleToRawLongBits(1.25));
+        ParamCodec.writePrimitive(parcel, ParamCodec.TYPE_BOOLEAN, 1);
+        parcel.setDataPosition(0);
+        assertEquals(1.25, ParamCodec.read(parcel));
+        assertEquals(Boolean.TRUE, ParamCodec.read(parcel));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writePrimitiveRejectsReferenceTypes() {
+        ParamCodec.writePrimitive(Parcel.obtain(), ParamCodec.TYPE_STRING, 0);
+    }
+
+    @Test
+    public void referenceTypes() {
+        assertNull(roundTrip(null));
+        assertRoundTrip("text", ParamCodec.TYPE_STRING);
+        assertRoundTrip(new Date(1000), ParamCodec.TYPE_SERIALIZABLE);
+        assertEquals("sb", roundTrip(new StringBuilder("sb")).toString());
+        assertEquals(ParamCodec.TYPE_CHAR_SEQUENCE, ParamCodec.typeOf(new StringBuilder()));
+
+        Bundle bundle = new Bundle();
+        bundle.putString("k", "v");
+        assertEquals(ParamCodec.TYPE_BUNDLE, ParamCodec.typeOf(bundle));
+        assertEquals("v", ((Bundle) roundTrip(bundle)).getString("k"));
+
+        Token token = new Token("t");
+        assertEquals(ParamCodec.TYPE_PARCELABLE, ParamCodec.typeOf(token));
+        assertEquals("t", ((Token) roundTrip(token)).value);
+    }
+
+    @Test
+    public void arrays() {
+        assertArrayEquals(new int[]{1, 2}, (int[]) roundTrip(new int[]{1, 2}));
+        assertArrayEquals(new long[]{3L}, (long[]) roundTrip(new long[]{3L}));
+        assertTrue(Arrays.equals(new boolean[]{true, false}, (boolean[]) roundTrip(new boolean[]{true, false})));
+        assertArrayEquals(new double[]{0.5}, (double[]) roundTrip(new double[]{0.5}), 0);
+        assertArrayEquals(new float[]{1.5f}, (float[]) roundTrip(new float[]{1.5f}), 0);
+        assertArrayEquals(new byte[]{9}, (byte[]) roundTrip(new byte[]{9}));
+        assertArrayEquals(new char[]{'a'}, (char[]) roundTrip(new char[]{'a'}));
+        assertArrayEquals(new String[]{"a", null}, (String[]) roundTrip(new String[]{"a", null}));
+
+        CharSequence[] chars = {"a", new StringBuilder("b")};
+        assertEquals(ParamCodec.TYPE_CHAR_SEQUENCE_ARRAY, ParamCodec.typeOf(chars));
+        Object[] result = (Object[]) roundTrip(chars);
+        assertEquals("b", result[1].toString());
+
+        Token[] tokens = {new Token("a"), null};
+        assertEquals(ParamCodec.TYPE_PARCELABLE_ARRAY, ParamCodec.typeOf(tokens));
+        Parcelable[] parcelables = (Parcelable[]) roundTrip(tokens);
+        assertEquals("a", ((Token) parcelables[0]).value);
+        assertNull(parcelables[1]);
+    }
+
+    @Test
+    public void lists() {
+        ArrayList<Object> list = new ArrayList<>(Arrays.asList("a", 1, 2L));
+        assertRoundTrip(list, ParamCodec.TYPE_LIST);
+        // 其它 List 实现读回后是 ArrayList
+        assertEquals(ParamCodec.TYPE_LIST, ParamCodec.typeOf(new LinkedList<>(list)));
+        assertEquals(list, roundTrip(new LinkedList<>(list)));
+    }
+
+    @Test
+    public void arbitraryObjectsNeedJsonFallback() {
+        Point point = new Point(1, 2);
+        assertEquals(ParamCodec.TYPE_UNSUPPORTED, ParamCodec.typeOf(point));
+        try {
+            roundTrip(point);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains(Point.class.getName()));
+        }
+
+        ParamCodec.setJsonFallbackEnabled(true);
+        assertEquals(ParamCodec.TYPE_JSON, ParamCodec.typeOf(point));
+        assertEquals(point, roundTrip(point));
+    }
+
+    @Test
+    public void serializableSubtypeIsCached() {
+        Serializable value = new Date(0);
+        assertEquals(ParamCodec.TYPE_SERIALIZABLE, ParamCodec.typeOf(value));
+        assertEquals(ParamCodec.TYPE_SERIALIZABLE, ParamCodec.typeOf(new Date(1)));
+    }
+}
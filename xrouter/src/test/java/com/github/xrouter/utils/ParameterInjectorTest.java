@@ -0,0 +1,61 @@
+package com.github.xrouter.utils;
+
+import android.content.Intent;
+
+import com.github.core.annotation.Autowired;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 没有生成注入类时按反射注入，类型不一致的参数跳过，不抛出异常。
+ */
+public class ParameterInjectorTest {
+
+    static class Page {
+        @Autowired
+        String name;
+        @Autowired(name = "user_age")
+        int age = -1;
+        @Autowired
+        long id;
+        @Autowired
+        List<String> tags;
+    }
+
+    @Test
+    public void matchingParamsAreInjected() {
+        Intent intent = new Intent();
+        intent.putExtra("name", "n");
+        intent.putExtra("user_age", 18);
+        intent.putStringArrayListExtra("tags", new ArrayList<>(Arrays.asList("a", "b")));
+
+        Page page = new Page();
+        ParameterInjector.inject(page, intent);
+        assertEquals("n", page.name);
+        assertEquals(18, page.age);
+        assertEquals(Arrays.asList("a", "b"), page.tags);
+    }
+
+    @Test
+    public void mismatchedParamsAreSkipped() {
+        Intent intent = new Intent();
+        intent.putExtra("name", 5);
+        intent.putExtra("user_age", "18");
+        // int 不会放宽成 long，与 Bundle#getLong 的行为一致
+        intent.putExtra("id", 7);
+        intent.putExtra("tags", "a");
+
+        Page page = new Page();
+        ParameterInjector.inject(page, intent);
+        assertNull(page.name);
+        assertEquals(-1, page.age);
+        assertEquals(0L, page.id);
+        assertNull(page.tags);
+    }
+}